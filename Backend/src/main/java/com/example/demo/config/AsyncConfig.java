@@ -0,0 +1,64 @@
+package com.example.demo.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+@EnableScheduling
+public class AsyncConfig {
+
+    // 답변 영상 처리 워커 수. 변환/분석 작업이 CPU와 모델 서버를 많이 쓰므로 작게 유지합니다.
+    @Value("${video.job.workers:2}")
+    private int videoJobWorkers;
+
+    // 녹화 중 변환을 동시에 실행할 최대 수. FFmpeg 인코딩이 CPU를 많이 쓰므로 작업 워커와 비슷하게 작게 유지합니다.
+    @Value("${upload.live.max-concurrent:2}")
+    private int liveTranscodeWorkers;
+
+    /**
+     * 답변 영상 처리 작업을 실행하는 워커 풀.
+     * 대기열은 DB(video_jobs)가 담당하므로 스레드 풀 자체의 큐는 두지 않습니다.
+     */
+    @Bean(name = "videoJobExecutor")
+    public ThreadPoolTaskExecutor videoJobExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(videoJobWorkers);
+        executor.setMaxPoolSize(videoJobWorkers);
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("video-job-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 녹화 중에 올라오는 답변 영상을 변환하는 풀.
+     * 자리가 없으면 변환을 시작하지 않고, 업로드가 끝난 뒤 작업 워커가 원본에서 평소처럼 변환합니다.
+     */
+    @Bean(name = "liveTranscodeExecutor")
+    public ThreadPoolTaskExecutor liveTranscodeExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(liveTranscodeWorkers);
+        executor.setMaxPoolSize(liveTranscodeWorkers);
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("live-transcode-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 모델 서버 호출(감정/LLM/시선 분석)을 동시에 실행하기 위한 실행기.
+     * 호출 대부분이 네트워크 대기이므로 가상 스레드를 사용합니다.
+     */
+    @Bean(name = "analysisExecutor", destroyMethod = "shutdown")
+    public ExecutorService analysisExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("analysis-", 0).factory());
+    }
+}
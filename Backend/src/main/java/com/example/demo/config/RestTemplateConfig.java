@@ -1,14 +1,129 @@
 package com.example.demo.config;
 
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.routing.HttpRoute;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.net.URISyntaxException;
+import java.time.Duration;
+
+/**
+ * 모델 서버(LLM, 감정, STT, 시선 분석) 호출에 공통으로 사용하는 RestTemplate 설정.
+ * 서버별(호스트:포트) keep-alive 커넥션 풀을 사용하고, 풀 크기로 서버별 동시 호출 수를 제한합니다.
+ * RestTemplateBuilder로 만들기 때문에 actuator의 http.client.requests 타이머가 엔드포인트별로 기록됩니다.
+ */
 @Configuration
 public class RestTemplateConfig {
 
+    @Value("${http.client.connect-timeout-ms:3000}")
+    private long connectTimeoutMs;
+
+    // 모델 추론이 오래 걸리므로 응답 대기 시간은 넉넉하게 잡습니다.
+    @Value("${http.client.read-timeout-ms:300000}")
+    private long readTimeoutMs;
+
+    // 풀이 가득 찼을 때 커넥션을 기다리는 최대 시간 (동시 호출 제한에 걸린 요청의 대기 시간)
+    @Value("${http.client.connection-request-timeout-ms:600000}")
+    private long connectionRequestTimeoutMs;
+
+    @Value("${http.client.max-total:50}")
+    private int maxTotal;
+
+    @Value("${http.client.default-max-per-route:4}")
+    private int defaultMaxPerRoute;
+
+    // 서버별 동시 호출 수 (예: localhost:5000=4,localhost:5003=2)
+    @Value("${http.client.max-per-route:}")
+    private String maxPerRoute;
+
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager modelServerConnectionManager() {
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(maxTotal);
+        connectionManager.setDefaultMaxPerRoute(defaultMaxPerRoute);
+        connectionManager.setDefaultConnectionConfig(ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                .setSocketTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                .setValidateAfterInactivity(TimeValue.ofSeconds(10))
+                .build());
+
+        for (String entry : maxPerRoute.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            String[] pair = entry.trim().split("=");
+            try {
+                HttpHost host = HttpHost.create("http://" + pair[0].trim());
+                connectionManager.setMaxPerRoute(new HttpRoute(host), Integer.parseInt(pair[1].trim()));
+            } catch (URISyntaxException | RuntimeException e) {
+                throw new IllegalArgumentException("http.client.max-per-route 형식이 올바르지 않습니다: " + entry, e);
+            }
+        }
+        return connectionManager;
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient modelServerHttpClient(PoolingHttpClientConnectionManager modelServerConnectionManager) {
+        return HttpClients.custom()
+                .setConnectionManager(modelServerConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(connectionRequestTimeoutMs))
+                        .setResponseTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .build())
+                .evictIdleConnections(TimeValue.ofMinutes(1))
+                .build();
+    }
+
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    @Primary
+    public RestTemplate restTemplate(RestTemplateBuilder builder, CloseableHttpClient modelServerHttpClient) {
+        return builder
+                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(modelServerHttpClient))
+                .build();
+    }
+
+    /**
+     * 답변 분석의 감정/LLM/시선 분기용. 같은 커넥션 풀을 쓰되 응답 대기 시간을 분기별 제한 시간(analysis.timeout.*)으로 줄여,
+     * 제한 시간이 지난 호출은 분기 취소와 별개로 HTTP 수준에서도 끊깁니다.
+     */
+    @Bean
+    public RestTemplate emotionRestTemplate(RestTemplateBuilder builder, CloseableHttpClient modelServerHttpClient,
+                                            @Value("${analysis.timeout.emotion-seconds:300}") long timeoutSeconds) {
+        return withReadTimeout(builder, modelServerHttpClient, timeoutSeconds);
+    }
+
+    @Bean
+    public RestTemplate llmRestTemplate(RestTemplateBuilder builder, CloseableHttpClient modelServerHttpClient,
+                                        @Value("${analysis.timeout.llm-seconds:120}") long timeoutSeconds) {
+        return withReadTimeout(builder, modelServerHttpClient, timeoutSeconds);
+    }
+
+    @Bean
+    public RestTemplate visionRestTemplate(RestTemplateBuilder builder, CloseableHttpClient modelServerHttpClient,
+                                           @Value("${analysis.timeout.vision-seconds:300}") long timeoutSeconds) {
+        return withReadTimeout(builder, modelServerHttpClient, timeoutSeconds);
+    }
+
+    private static RestTemplate withReadTimeout(RestTemplateBuilder builder, CloseableHttpClient httpClient, long timeoutSeconds) {
+        return builder
+                .requestFactory(() -> {
+                    HttpComponentsClientHttpRequestFactory requestFactory = new HttpComponentsClientHttpRequestFactory(httpClient);
+                    requestFactory.setReadTimeout(Duration.ofSeconds(timeoutSeconds));
+                    return requestFactory;
+                })
+                .build();
     }
-}
\ No newline at end of file
+}
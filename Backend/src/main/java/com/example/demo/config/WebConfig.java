@@ -1,8 +1,10 @@
 package com.example.demo.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.Customizer;
+import org.springframework.security.authorization.AuthorizationDecision;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.web.cors.CorsConfiguration;
@@ -13,13 +15,21 @@ import java.util.List;
 @Configuration
 public class WebConfig {
 
+    // actuator 전용 포트 (application.properties에서 루프백 주소에만 바인딩)
+    @Value("${management.server.port:-1}")
+    private int managementPort;
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
             .csrf(csrf -> csrf.disable())                 // CSRF 비활성화
             .cors(Customizer.withDefaults())              // CORS 활성화 - corsConfigurationSource 자동 연동
             .authorizeHttpRequests(auth -> auth
-                .anyRequest().permitAll()                   // 모든 요청 허용
+                .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
+                // 지표(metrics)는 actuator 전용 포트로 들어온 요청만 허용 (앱 포트로 노출되지 않도록)
+                .requestMatchers("/actuator/**").access((authentication, context) ->
+                        new AuthorizationDecision(context.getRequest().getLocalPort() == managementPort))
+                .anyRequest().permitAll()                   // 그 외 모든 요청 허용
             );
         return http.build();
     }
@@ -1,11 +1,14 @@
 package com.example.demo.controller;
 
 import com.example.demo.domain.InterviewEntity;
+import com.example.demo.domain.InterviewStatus;
 import com.example.demo.domain.UserEntity;
+import com.example.demo.domain.VideoJobEntity;
 import com.example.demo.service.CalibrationService;
+import com.example.demo.service.InterviewFinalizeService;
 import com.example.demo.service.InterviewService;
 import com.example.demo.service.UserService;
-import com.example.demo.service.VideoProcessingService;
+import com.example.demo.service.VideoJobService;
 import com.example.demo.util.JwtUtil;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -18,6 +21,7 @@ import java.util.HashMap;
 import java.util.Map;
 
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -34,7 +38,8 @@ public class InterviewController {
 
     private final InterviewService interviewService;
     private final CalibrationService calibrationService;
-    private final VideoProcessingService videoProcessingService;
+    private final VideoJobService videoJobService;
+    private final InterviewFinalizeService interviewFinalizeService;
     private final JwtUtil jwtUtil;
     
     @Autowired
@@ -133,10 +138,12 @@ public class InterviewController {
 
     /**
      * 특정 면접의 특정 질문에 대한 답변 영상을 업로드하고 분석을 요청합니다.
+     * 원본 파일 저장과 작업 등록까지만 수행하고 202 Accepted와 작업 번호를 즉시 반환합니다.
+     * 변환 및 분석 진행 상황은 GET /api/interviews/jobs/{jobNo}로 조회합니다.
      * @param interviewNo 면접 회차의 ID
      * @param questionNo 질문의 ID
      * @param videoFile 사용자가 업로드한 답변 영상 파일
-     * @return 작업 성공 또는 실패에 대한 HTTP 응답
+     * @return 작업 등록 성공 또는 실패에 대한 HTTP 응답
      */
     @PostMapping("/{interviewNo}/{questionNo}/video")
     public ResponseEntity<Map<String, Object>> uploadAndAnalyzeVideo(
@@ -153,16 +160,18 @@ public class InterviewController {
         }
 
         try {
-            videoProcessingService.processAndAnalyzeVideo(interviewNo, questionNo, videoFile);
+            VideoJobEntity job = videoJobService.enqueue(interviewNo, questionNo, videoFile);
             response.put("message", true);
-            return ResponseEntity.ok(response);
+            response.put("jobNo", job.getJobNO());
+            response.put("status", job.getStatus());
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
         } catch (IllegalArgumentException e) {
             response.put("message", false);
             response.put("error", e.getMessage());
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
         } catch (IOException e) {
             response.put("message", false);
-            response.put("error", "영상 처리 중 서버 내부 오류가 발생했습니다.");
+            response.put("error", "영상 저장 중 서버 내부 오류가 발생했습니다.");
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
         } catch (Exception e) {
             response.put("message", false);
@@ -170,4 +179,78 @@ public class InterviewController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * 면접을 종료합니다. 전달된 답변 수만큼 답변 분석이 끝나면 종합 총평과 이전 면접 비교를 한 번 생성합니다.
+     * 마지막 답변 업로드가 아직 등록되지 않았더라도 answerCount만큼 기다리므로 업로드 직후 바로 호출해도 됩니다.
+     * @param interviewNo 면접 회차의 ID
+     * @param body answerCount: 사용자가 제출한 답변 수 (생략 가능)
+     * @return 면접 상태 (FINALIZE_REQUESTED, SUMMARIZING, COMPLETED, FAILED)
+     */
+    @PostMapping("/{interviewNo}/finish")
+    public ResponseEntity<Map<String, Object>> finishInterview(
+        @PathVariable("interviewNo") Long interviewNo,
+        @RequestBody(required = false) Map<String, Integer> body) {
+
+        Map<String, Object> response = new HashMap<>();
+        try {
+            Integer answerCount = body != null ? body.get("answerCount") : null;
+            InterviewStatus status = interviewFinalizeService.requestFinalize(interviewNo, answerCount);
+            response.put("message", true);
+            response.put("interviewNo", interviewNo);
+            response.put("status", status);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+        } catch (IllegalArgumentException e) {
+            response.put("message", false);
+            response.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+        }
+    }
+
+    /**
+     * 면접 회차의 진행 상태를 조회합니다.
+     * @param interviewNo 면접 회차의 ID
+     * @return 면접 상태 (도입 이전 면접은 null)
+     */
+    @GetMapping("/{interviewNo}/status")
+    public ResponseEntity<Map<String, Object>> getInterviewStatus(@PathVariable("interviewNo") Long interviewNo) {
+        Map<String, Object> response = new HashMap<>();
+        try {
+            response.put("interviewNo", interviewNo);
+            response.put("status", interviewFinalizeService.getStatus(interviewNo));
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            response.put("message", false);
+            response.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+        }
+    }
+
+    /**
+     * 답변 영상 처리 작업의 진행 상태를 조회합니다.
+     * @param jobNo 업로드 시 반환된 작업 번호
+     * @return 작업 상태(status), 현재 단계(stage), 생성된 영상 번호(videoNo), 오류 메시지, 재시도 횟수(attempts)와 다음 시도 시각(nextAttemptAt)
+     */
+    @GetMapping("/jobs/{jobNo}")
+    public ResponseEntity<Map<String, Object>> getVideoJob(@PathVariable("jobNo") Long jobNo) {
+        Map<String, Object> response = new HashMap<>();
+        try {
+            VideoJobEntity job = videoJobService.getJob(jobNo);
+            response.put("jobNo", job.getJobNO());
+            response.put("interviewNo", job.getInterviewNO());
+            response.put("questionNo", job.getQuestionNO());
+            response.put("status", job.getStatus());
+            response.put("stage", job.getStage());
+            response.put("videoNo", job.getVideoNO());
+            response.put("error", job.getErrorMessage());
+            response.put("attempts", job.getAttempts());
+            response.put("nextAttemptAt", job.getNextAttemptAt());
+            response.put("updatedAt", job.getUpdatedAt());
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            response.put("message", false);
+            response.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+        }
+    }
+}
@@ -1,38 +1,66 @@
 package com.example.demo.controller;
 
+import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.net.MalformedURLException;
+import java.io.IOException;
 import java.nio.file.Path;
-import java.nio.file.Paths;
+
+import lombok.RequiredArgsConstructor;
+
+import com.example.demo.service.ThumbnailService;
 
 @RestController
+@RequiredArgsConstructor
 public class ThumbnailController {
 
-    @GetMapping("/thumbnail")
-    public ResponseEntity<Resource> getThumbnail(@RequestParam("path") String path) {
+    // 변형은 같은 URL에 대해 내용이 바뀌지 않으므로 브라우저/프록시가 1년 동안 재검증 없이 사용합니다.
+    private static final String IMMUTABLE = "public, max-age=31536000, immutable";
+
+    private final ThumbnailService thumbnailService;
+
+    /**
+     * 영상 번호로 크기별 썸네일(JPEG)을 제공합니다.
+     * @param videoNo VideoEntity의 PK
+     * @param width 가로 크기 (160, 320, 640)
+     * @param ifNoneMatch 브라우저가 가진 ETag, 같으면 본문 없이 304
+     */
+    @GetMapping("/thumbnail/{videoNo}")
+    public ResponseEntity<Resource> getThumbnailVariant(
+            @PathVariable("videoNo") Long videoNo,
+            @RequestParam(value = "w", defaultValue = "320") int width,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+
+        String etag = ThumbnailService.etag(videoNo, width);
+        if (ifNoneMatch != null && (ifNoneMatch.trim().equals("*") || ifNoneMatch.contains(etag))) {
+            // DB와 디스크를 보지 않고 응답합니다.
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .header(HttpHeaders.CACHE_CONTROL, IMMUTABLE)
+                    .build();
+        }
+
         try {
-            // 경로를 Path 객체로 변환
-            Path file = Paths.get(path);
-            Resource resource = new UrlResource(file.toUri());
-
-            if (resource.exists() || resource.isReadable()) {
-                // 파일 확장자에 따라 Content-Type 다르게 설정 가능
-                return ResponseEntity.ok()
-                        .header(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"" + file.getFileName().toString() + "\"")
-                        .header(HttpHeaders.CONTENT_TYPE, "image/png") // 필요시 확장자 별로 수정
-                        .body(resource);
-            } else {
-                return ResponseEntity.notFound().build();
-            }
-        } catch (MalformedURLException e) {
-            return ResponseEntity.badRequest().build();
+            Path file = thumbnailService.getVariant(videoNo, width);
+            return ResponseEntity.ok()
+                    .eTag(etag)
+                    .header(HttpHeaders.CACHE_CONTROL, IMMUTABLE)
+                    .contentType(MediaType.IMAGE_JPEG)
+                    .body(new FileSystemResource(file));
+        } catch (IllegalArgumentException e) {
+            return !ThumbnailService.WIDTHS.contains(width) ? ResponseEntity.badRequest().build() : ResponseEntity.notFound().build();
+        } catch (IOException e) {
+            System.err.println("썸네일 생성 실패 (videoNo=" + videoNo + "): " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
 }
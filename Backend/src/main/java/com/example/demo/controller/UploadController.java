@@ -0,0 +1,216 @@
+package com.example.demo.controller;
+
+import com.example.demo.domain.UploadKind;
+import com.example.demo.domain.UploadSessionEntity;
+import com.example.demo.service.ChunkedUploadService;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import lombok.RequiredArgsConstructor;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 답변/캘리브레이션 영상의 분할(이어 올리기) 업로드 API.
+ * 1. POST /api/uploads 로 업로드를 시작하고 uploadId를 받습니다.
+ * 2. PUT /api/uploads/{uploadId}?offset=N 으로 조각을 순서대로 보냅니다. (본문: application/octet-stream)
+ * 3. 연결이 끊기면 GET /api/uploads/{uploadId} 로 받은 위치(offset)를 확인하고 그 위치부터 다시 보냅니다.
+ * 4. POST /api/uploads/{uploadId}/complete 로 업로드를 끝내면 처리 단계로 넘어갑니다.
+ * 녹화 중 업로드(streaming=true)는 MediaRecorder의 조각이 생길 때마다 2번을 호출하고, 녹화가 끝나면 4번을 호출합니다.
+ * 재촬영하면 DELETE /api/uploads/{uploadId} 로 취소합니다.
+ */
+@RestController
+@RequestMapping("/api/uploads")
+@RequiredArgsConstructor
+public class UploadController {
+
+    private final ChunkedUploadService chunkedUploadService;
+
+    public static class UploadInitRequest {
+        private UploadKind kind;
+        private Long interviewNo;
+        private Long questionNo;
+        private Long totalBytes;
+        private String fileName;
+        private boolean streaming;
+
+        public UploadKind getKind() { return kind; }
+        public void setKind(UploadKind kind) { this.kind = kind; }
+        public Long getInterviewNo() { return interviewNo; }
+        public void setInterviewNo(Long interviewNo) { this.interviewNo = interviewNo; }
+        public Long getQuestionNo() { return questionNo; }
+        public void setQuestionNo(Long questionNo) { this.questionNo = questionNo; }
+        public Long getTotalBytes() { return totalBytes; }
+        public void setTotalBytes(Long totalBytes) { this.totalBytes = totalBytes; }
+        public String getFileName() { return fileName; }
+        public void setFileName(String fileName) { this.fileName = fileName; }
+        public boolean isStreaming() { return streaming; }
+        public void setStreaming(boolean streaming) { this.streaming = streaming; }
+    }
+
+    /**
+     * 분할 업로드를 시작합니다.
+     * @param request kind(ANSWER, CALIBRATION), interviewNo, questionNo(ANSWER일 때), totalBytes, fileName,
+     *                streaming(녹화 중에 조각을 보내면 true, 이때 totalBytes는 생략)
+     * @return uploadId와 시작 위치(offset=0)
+     */
+    @PostMapping
+    public ResponseEntity<Map<String, Object>> initUpload(@RequestBody UploadInitRequest request) {
+        Map<String, Object> response = new HashMap<>();
+        try {
+            UploadSessionEntity upload = chunkedUploadService.init(request.getKind(), request.getInterviewNo(),
+                    request.getQuestionNo(), request.getTotalBytes(), request.getFileName(), request.isStreaming());
+            response.put("message", true);
+            response.put("uploadId", upload.getUploadId());
+            response.put("offset", upload.getReceivedBytes());
+            response.put("totalBytes", upload.getTotalBytes());
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        } catch (IllegalArgumentException e) {
+            response.put("message", false);
+            response.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+        } catch (IOException e) {
+            response.put("message", false);
+            response.put("error", "업로드 파일 생성 중 서버 내부 오류가 발생했습니다.");
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+
+    /**
+     * 업로드 진행 상태를 조회합니다. 이어 올릴 때 offset부터 보내면 됩니다.
+     * @param uploadId 업로드 ID
+     * @return 받은 위치(offset), 전체 크기, 상태, 등록된 작업 번호(jobNo)
+     */
+    @GetMapping("/{uploadId}")
+    public ResponseEntity<Map<String, Object>> getUpload(@PathVariable("uploadId") String uploadId) {
+        Map<String, Object> response = new HashMap<>();
+        try {
+            UploadSessionEntity upload = chunkedUploadService.getUpload(uploadId);
+            response.put("uploadId", upload.getUploadId());
+            response.put("offset", upload.getReceivedBytes());
+            response.put("totalBytes", upload.getTotalBytes());
+            response.put("status", upload.getStatus());
+            response.put("jobNo", upload.getJobNO());
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            response.put("message", false);
+            response.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+        }
+    }
+
+    /**
+     * 조각 하나를 받습니다. offset이 받은 위치와 다르면 409와 함께 현재 위치를 돌려줍니다.
+     * @param uploadId 업로드 ID
+     * @param offset 조각의 시작 위치
+     * @param request 조각 내용을 읽을 요청 (본문을 버퍼링하지 않고 스트림으로 읽음)
+     * @return 조각을 반영한 뒤의 받은 위치(offset)
+     */
+    @PutMapping("/{uploadId}")
+    public ResponseEntity<Map<String, Object>> uploadChunk(
+            @PathVariable("uploadId") String uploadId,
+            @RequestParam("offset") long offset,
+            HttpServletRequest request) {
+
+        Map<String, Object> response = new HashMap<>();
+        try {
+            long next = chunkedUploadService.appendChunk(uploadId, offset, request.getInputStream());
+            response.put("message", true);
+            response.put("offset", next);
+            return ResponseEntity.ok(response);
+        } catch (IllegalStateException e) {
+            response.put("message", false);
+            response.put("error", e.getMessage());
+            response.put("offset", chunkedUploadService.getUpload(uploadId).getReceivedBytes());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+        } catch (IllegalArgumentException e) {
+            // 업로드가 없거나 조각이 너무 큰 경우
+            response.put("message", false);
+            response.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+        } catch (IOException e) {
+            // 클라이언트 연결이 끊긴 경우 등: 받은 위치는 전진하지 않았으므로 같은 offset으로 다시 보내면 됩니다.
+            response.put("message", false);
+            response.put("error", "조각 저장 중 오류가 발생했습니다.");
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+
+    /**
+     * 업로드를 완료하고 처리 단계로 넘깁니다.
+     * ANSWER는 202와 작업 번호(jobNo)를 바로 반환하고, CALIBRATION은 캘리브레이션이 끝난 뒤 200을 반환합니다.
+     * @param uploadId 업로드 ID
+     * @return 처리 결과
+     */
+    @PostMapping("/{uploadId}/complete")
+    public ResponseEntity<Map<String, Object>> completeUpload(@PathVariable("uploadId") String uploadId) {
+        Map<String, Object> response = new HashMap<>();
+        try {
+            UploadSessionEntity upload = chunkedUploadService.complete(uploadId);
+            response.put("message", true);
+            response.put("uploadId", upload.getUploadId());
+            if (upload.getKind() == UploadKind.ANSWER) {
+                response.put("jobNo", upload.getJobNO());
+                return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+            }
+            return ResponseEntity.ok(response);
+        } catch (IllegalStateException e) {
+            response.put("message", false);
+            response.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+        } catch (IllegalArgumentException e) {
+            response.put("message", false);
+            response.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+        } catch (IOException e) {
+            response.put("message", false);
+            response.put("error", "파일 처리 중 서버 내부 오류가 발생했습니다.");
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        } catch (Exception e) {
+            response.put("message", false);
+            response.put("error", "알 수 없는 오류가 발생했습니다.");
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+
+    /**
+     * 완료되지 않은 업로드를 취소하고 받은 파일을 삭제합니다. (재촬영 시)
+     * @param uploadId 업로드 ID
+     * @return 취소 결과
+     */
+    @DeleteMapping("/{uploadId}")
+    public ResponseEntity<Map<String, Object>> cancelUpload(@PathVariable("uploadId") String uploadId) {
+        Map<String, Object> response = new HashMap<>();
+        try {
+            chunkedUploadService.cancel(uploadId);
+            response.put("message", true);
+            return ResponseEntity.ok(response);
+        } catch (IllegalStateException e) {
+            response.put("message", false);
+            response.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+        } catch (IllegalArgumentException e) {
+            response.put("message", false);
+            response.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+        } catch (IOException e) {
+            response.put("message", false);
+            response.put("error", "업로드 파일 삭제 중 오류가 발생했습니다.");
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+}
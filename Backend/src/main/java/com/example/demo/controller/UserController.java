@@ -6,12 +6,12 @@ import com.example.demo.domain.QuestionEntity;
 import com.example.demo.domain.VideoEntity;
 import com.example.demo.dto.AnalysisDto;
 import com.example.demo.dto.CalibrationDto;
-import com.example.demo.dto.InterviewDto;
+import com.example.demo.dto.InterviewHistoryPageDto;
+import com.example.demo.dto.InterviewSummaryDto;
 import com.example.demo.dto.InterviewWithVideosDto;
 import com.example.demo.dto.InterviewsDto;
 import com.example.demo.dto.UserDto;
 import com.example.demo.dto.UserProfileResponseDto;
-import com.example.demo.dto.VideoDto;
 import com.example.demo.dto.VideoInfoDto;
 import com.example.demo.repository.CalibrationsRepository;
 import com.example.demo.repository.VideoRepository;
@@ -20,18 +20,22 @@ import com.example.demo.service.InterviewService;
 import com.example.demo.service.UserService;
 import com.example.demo.service.VideoProcessingService;
 import com.example.demo.util.JwtUtil;
+import com.example.demo.util.TimelineSeries;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -60,6 +64,10 @@ public class UserController {
     @Autowired
     private AnalysisService analysisService;
 
+    // 마이페이지에서 한 번에 보여줄 면접 이력 수
+    @Value("${profile.interview.page-size:20}")
+    private int profilePageSize;
+
     @PostMapping("/register")
     public ResponseEntity<Map<String, Boolean>> register(@RequestBody UserDto user) {
         boolean result = userService.registerUser(user);
@@ -127,45 +135,21 @@ public class UserController {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("사용자를 찾을 수 없습니다.");
         }
 
-        // 인터뷰 리스트 조회 및 최신순 정렬
-        List<InterviewDto> interviews = interviewService.getInterviewsByUserId(userId);
-        interviews.sort((a, b) -> b.getInterviewDate().compareTo(a.getInterviewDate())); // 최신순 정렬
+        // 인터뷰 리스트 첫 페이지 조회 (영상 수와 분석 상태 포함, 최신순 정렬은 쿼리에서 처리)
+        // 이후 페이지는 next_cursor를 사용해 GET /api/user/interviews 로 조회합니다.
+        InterviewHistoryPageDto page = interviewService.getInterviewHistoryPage(userId, null, null, profilePageSize);
+        List<InterviewSummaryDto> interviews = page.getInterviews();
 
         List<Map<String, Object>> interviewList = new ArrayList<>();
         Object lastOverallCompare = "이전 인터뷰 총평이 없습니다.";
 
-        for (InterviewDto interview : interviews) {
-            Map<String, Object> item = new HashMap<>();
-            item.put("interview_title", interview.getInterviewTitle());
-            item.put("interview_date", interview.getInterviewDate());
-            item.put("interview_no", interview.getInterviewNo());
-            int interviewType = interview.getInterviewType();
-            item.put("interview_type", interviewType == 1 ? "모의 면접" : "실전 면접");
-            item.put("interview_overall", interview.getInterviewOverall());
-
-            // 해당 인터뷰의 연결된 영상 개수
-            List<VideoDto> videos = interviewService.getVideosByInterviewNo(interview.getInterviewNo());
-            item.put("question_count", videos.size());
-
-            // 분석 완료 여부
-            boolean allAnalyzed = true;
-            for (VideoDto v : videos) {
-                AnalysisDto analysis = analysisService.getAnalysisByVideoNo(v.getVideoNO());
-                if (analysis == null 
-                    || analysis.getAnswer() == null
-                    || analysis.getEmotion() == null
-                    || analysis.getVision() == null) {
-                    allAnalyzed = false;
-                    break;
-                }
-            }
-            item.put("analysis_status", allAnalyzed ? "분석 완료" : "현재 분석 중");
-            interviewList.add(item);
+        for (InterviewSummaryDto interview : interviews) {
+            interviewList.add(toInterviewItem(interview));
         }
 
         // 최신 인터뷰의 overallcompare 추출
         if (!interviews.isEmpty()) {
-            InterviewDto latestInterview = interviews.get(0);
+            InterviewSummaryDto latestInterview = interviews.get(0);
             String interviewOverall = latestInterview.getInterviewOverall();
             System.out.println(interviewOverall);
             if (interviewOverall != null && !interviewOverall.isEmpty()) {
@@ -189,11 +173,86 @@ public class UserController {
         response.put("name", user.getName());
         response.put("email", user.getEmail());
         response.put("interviews", interviewList);
+        response.put("next_cursor", toCursor(page));
         response.put("overallcompare", lastOverallCompare);
 
         return ResponseEntity.ok(response);
     }
     
+    /**
+     * 면접 이력을 최신순으로 페이지 단위 조회합니다. (interview_date, interview_no 기준 키셋 페이지네이션)
+     * @param cursorDate 이전 응답의 next_cursor.interview_date (첫 페이지면 생략)
+     * @param cursorNo 이전 응답의 next_cursor.interview_no (첫 페이지면 생략)
+     * @param size 페이지 크기 (최대 100)
+     */
+    @GetMapping("/interviews")
+    public ResponseEntity<?> getInterviewHistory(
+            @RequestHeader(value = "Authorization", required = false) String authHeader,
+            @RequestParam(value = "cursorDate", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime cursorDate,
+            @RequestParam(value = "cursorNo", required = false) Long cursorNo,
+            @RequestParam(value = "size", defaultValue = "20") int size) {
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("토큰을 제공하지 않았습니다.");
+        }
+        String token = authHeader.replace("Bearer ", "");
+        String userId;
+        try {
+            userId = jwtUtil.extractUserId(token);
+        } catch (io.jsonwebtoken.ExpiredJwtException ex) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("토큰 유효기간이 만료되었습니다.");
+        } catch (Exception ex) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("잘못된 토큰입니다.");
+        }
+
+        int pageSize = Math.max(1, Math.min(size, 100));
+        InterviewHistoryPageDto page = interviewService.getInterviewHistoryPage(userId, cursorDate, cursorNo, pageSize);
+
+        List<Map<String, Object>> interviewList = new ArrayList<>();
+        for (InterviewSummaryDto interview : page.getInterviews()) {
+            interviewList.add(toInterviewItem(interview));
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("interviews", interviewList);
+        response.put("next_cursor", toCursor(page));
+        return ResponseEntity.ok(response);
+    }
+
+    // 마이페이지 면접 목록의 항목 하나
+    private Map<String, Object> toInterviewItem(InterviewSummaryDto interview) {
+        Map<String, Object> item = new HashMap<>();
+        item.put("interview_title", interview.getInterviewTitle());
+        item.put("interview_date", interview.getInterviewDate());
+        item.put("interview_no", interview.getInterviewNo());
+        int interviewType = interview.getInterviewType();
+        item.put("interview_type", interviewType == 1 ? "모의 면접" : "실전 면접");
+        item.put("interview_overall", interview.getInterviewOverall());
+
+        // 해당 인터뷰의 연결된 영상 개수
+        item.put("question_count", interview.getQuestionCount());
+
+        // 분석 완료 여부
+        if (!interview.isAllAnalyzed()) {
+            item.put("analysis_status", "현재 분석 중");
+        } else if (interview.hasFailed()) {
+            item.put("analysis_status", "분석 실패");
+        } else {
+            item.put("analysis_status", "분석 완료");
+        }
+        return item;
+    }
+
+    // 다음 페이지 커서 (없으면 null)
+    private Map<String, Object> toCursor(InterviewHistoryPageDto page) {
+        if (!page.hasNext()) {
+            return null;
+        }
+        Map<String, Object> cursor = new HashMap<>();
+        cursor.put("interview_date", page.getNextCursorDate());
+        cursor.put("interview_no", page.getNextCursorNo());
+        return cursor;
+    }
+
     @GetMapping("/profile/{interviewNo}")
     public ResponseEntity<Map<String, Object>> getInterviewWithVideos(@PathVariable("interviewNo") Long interviewNo) {
         InterviewsDto interviewsDto = interviewService.findInterviewDtoById(interviewNo);
@@ -269,6 +328,44 @@ public class UserController {
         return ResponseEntity.ok(responseDto);
     }
 
+    /**
+     * 답변 영상의 시선/감정 시계열을 열 지향 형태로 반환합니다.
+     * 긴 영상도 차트에 필요한 만큼만 내려주도록 [from, to] 프레임 구간을 최대 points개로 평균 내어 줄입니다.
+     * @param kind "vision" 또는 "emotion"
+     */
+    @GetMapping("/profile/{interviewNo}/{videoNo}/timeline")
+    public ResponseEntity<?> getVideoTimeline(
+            @PathVariable("interviewNo") Long interviewNo,
+            @PathVariable("videoNo") Long videoNo,
+            @RequestParam(value = "kind", defaultValue = "vision") String kind,
+            @RequestParam(value = "from", required = false) Integer fromFrame,
+            @RequestParam(value = "to", required = false) Integer toFrame,
+            @RequestParam(value = "points", defaultValue = "300") int points) {
+
+        VideoEntity video = videoRepository.findById(videoNo)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Video not found"));
+
+        if (!video.getInterview().getInterviewNO().equals(interviewNo)) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+
+        TimelineSeries series;
+        try {
+            series = analysisService.getTimeline(videoNo, kind, fromFrame, toFrame, Math.max(1, Math.min(points, 2000)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+        if (series == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("message", "분석 결과가 없습니다."));
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("kind", kind);
+        response.put("points", series.size());
+        response.put("series", series.toColumns());
+        return ResponseEntity.ok(response);
+    }
+
 
     @PostMapping("/update")
     public ResponseEntity<?> updateProfile(
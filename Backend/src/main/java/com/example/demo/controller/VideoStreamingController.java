@@ -1,69 +1,344 @@
 package com.example.demo.controller;
 
+import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
 
 import org.springframework.core.io.FileSystemResource;
-import org.springframework.core.io.support.ResourceRegion;
+import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpRange;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.MediaTypeFactory;
-import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.PathVariable;
-import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ResponseStatusException;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 
-import com.example.demo.domain.VideoEntity;
-import com.example.demo.repository.VideoRepository;
+import com.example.demo.service.HlsPackagingService;
+import com.example.demo.service.PreviewTrackService;
+import com.example.demo.service.VideoMetadataCacheService;
+import com.example.demo.service.VideoMetadataCacheService.VideoFileMeta;
 
 @RestController
 @RequestMapping("/videos")
 @RequiredArgsConstructor
 @CrossOrigin(origins = "*")
 public class VideoStreamingController {
-    private final VideoRepository videoRepository;
 
-    // HTTP Range 지원 영상 스트리밍
-    @GetMapping("/stream/{videoNo}")
-    public ResponseEntity<ResourceRegion> streamVideo(
+    // Tomcat sendfile 요청 속성 (커넥터가 지원하면 커널이 파일을 소켓으로 바로 보냅니다)
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    // HLS 재생목록/세그먼트는 한 번 만들어지면 바뀌지 않으므로 브라우저가 재검증 없이 오래 사용합니다.
+    private static final String HLS_CACHE_CONTROL = "private, max-age=31536000, immutable";
+    private static final MediaType HLS_PLAYLIST = MediaType.parseMediaType("application/vnd.apple.mpegurl");
+    private static final MediaType HLS_SEGMENT = MediaType.parseMediaType("video/mp2t");
+
+    // 한 요청에 허용하는 최대 구간 수 (이보다 많으면 Range를 무시하고 전체를 보냅니다)
+    private static final int MAX_RANGES = 16;
+
+    private final VideoMetadataCacheService videoMetadataCacheService;
+
+    /**
+     * HTTP Range를 지원하는 영상 스트리밍.
+     * Range가 없거나 무시해야 하면 200으로 전체를, 구간이 하나면 206으로 해당 구간을, 여러 개면 multipart/byteranges로 보냅니다.
+     * ETag/Last-Modified로 조건부 요청(If-None-Match, If-Modified-Since, If-Range)을 처리하며,
+     * 본문은 Tomcat sendfile 또는 FileChannel.transferTo로 힙 버퍼를 거치지 않고 씁니다.
+     */
+    @RequestMapping(value = "/stream/{videoNo}", method = {RequestMethod.GET, RequestMethod.HEAD})
+    public void streamVideo(
+            @PathVariable("videoNo") Long videoNo,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+
+        // 같은 영상의 Range 요청이 반복되므로 DB와 파일 정보는 캐시에서 가져옵니다.
+        VideoFileMeta meta;
+        try {
+            meta = videoMetadataCacheService.get(videoNo);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Video not found");
+        }
+
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.ETAG, meta.etag());
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, meta.lastModified());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, max-age=3600");
+
+        if (isNotModified(request, meta.etag(), meta.lastModified())) {
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            return;
+        }
+
+        try {
+            send(request, response, meta);
+        } catch (NoSuchFileException e) {
+            // 캐시에 올린 뒤 파일이 삭제된 경우: 항목을 지우고 404로 응답합니다.
+            videoMetadataCacheService.invalidate(videoNo);
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Video file not found");
+        }
+    }
+
+    /**
+     * 탐색 미리보기 WebVTT. 각 구간은 같은 경로의 preview.jpg(스프라이트 시트)의 한 칸을 가리킵니다.
+     * 미리보기가 없는 영상(기능 도입 이전에 처리된 영상 등)은 404이며, 클라이언트는 기존처럼 영상을 직접 탐색합니다.
+     */
+    @GetMapping("/{videoNo}/preview.vtt")
+    public ResponseEntity<Resource> previewTrack(@PathVariable("videoNo") Long videoNo) {
+        return staticFile(PreviewTrackService.vttFileOf(videoFile(videoNo)),
+                new MediaType("text", "vtt", StandardCharsets.UTF_8), "private, max-age=3600");
+    }
+
+    /**
+     * 탐색 미리보기 스프라이트 시트 (JPEG)
+     */
+    @GetMapping("/{videoNo}/" + PreviewTrackService.SPRITE_URL)
+    public ResponseEntity<Resource> previewSprite(@PathVariable("videoNo") Long videoNo) {
+        return staticFile(PreviewTrackService.spriteFileOf(videoFile(videoNo)), MediaType.IMAGE_JPEG, "private, max-age=3600");
+    }
+
+    /**
+     * HLS 마스터 재생목록. 패키징하지 않은 영상은 404이며, 플레이어는 /stream/{videoNo}의 MP4를 재생합니다.
+     */
+    @GetMapping("/{videoNo}/hls/" + HlsPackagingService.MASTER_PLAYLIST)
+    public ResponseEntity<Resource> hlsMasterPlaylist(@PathVariable("videoNo") Long videoNo) {
+        File file = new File(HlsPackagingService.hlsDirOf(videoFile(videoNo)), HlsPackagingService.MASTER_PLAYLIST);
+        return staticFile(file, HLS_PLAYLIST, HLS_CACHE_CONTROL);
+    }
+
+    /**
+     * 화질별 HLS 재생목록과 세그먼트
+     * @param rendition 화질 디렉터리 (예: 360p)
+     * @param fileName index.m3u8 또는 seg_#####.ts
+     */
+    @GetMapping("/{videoNo}/hls/{rendition}/{fileName}")
+    public ResponseEntity<Resource> hlsMediaFile(
             @PathVariable("videoNo") Long videoNo,
-            @RequestHeader HttpHeaders headers) throws IOException {
-        
-        VideoEntity video = videoRepository.findById(videoNo)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Video not found"));
-
-        FileSystemResource resource = new FileSystemResource(video.getVideoDir());
-        
-        if (!resource.exists() || !resource.isReadable()) {
-            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Video file not found or not readable");
-        }
-
-        // Range 요청이 오면 해당 바이트만 응답
-        long contentLength = resource.contentLength();
-        ResourceRegion region;
-
-        if (headers.getRange() != null && !headers.getRange().isEmpty()) {
-            HttpRange range = headers.getRange().get(0);
-            long start = range.getRangeStart(contentLength);
-            long end = range.getRangeEnd(contentLength);
-            long rangeLength = Math.min(1024 * 1024, end - start + 1); // 1MB씩 전송
-            region = new ResourceRegion(resource, start, rangeLength);
+            @PathVariable("rendition") String rendition,
+            @PathVariable("fileName") String fileName) {
+        // 경로 조작을 막기 위해 패키징 결과의 이름 형식만 허용합니다.
+        boolean playlist = fileName.equals(HlsPackagingService.MEDIA_PLAYLIST);
+        if (!rendition.matches("\\d{2,4}p") || !(playlist || fileName.matches("seg_\\d{5,}\\.ts"))) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "HLS file not found");
+        }
+        File file = new File(new File(HlsPackagingService.hlsDirOf(videoFile(videoNo)), rendition), fileName);
+        return staticFile(file, playlist ? HLS_PLAYLIST : HLS_SEGMENT, HLS_CACHE_CONTROL);
+    }
+
+    private File videoFile(Long videoNo) {
+        try {
+            return videoMetadataCacheService.get(videoNo).path().toFile();
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Video not found");
+        }
+    }
+
+    // 영상 옆에 만들어 둔 파일(미리보기, HLS)을 보냅니다. Range 요청은 Spring이 Resource에 대해 처리합니다.
+    private static ResponseEntity<Resource> staticFile(File file, MediaType contentType, String cacheControl) {
+        if (!file.isFile()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "File not found");
+        }
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CACHE_CONTROL, cacheControl)
+                .lastModified(file.lastModified())
+                .contentType(contentType)
+                .body(new FileSystemResource(file));
+    }
+
+    private static void send(HttpServletRequest request, HttpServletResponse response, VideoFileMeta meta) throws IOException {
+        Path file = meta.path();
+        long length = meta.length();
+        String contentType = meta.contentType();
+        List<long[]> regions = requestedRegions(request, meta.etag(), meta.lastModified(), length);
+        if (regions == null) {
+            response.setStatus(HttpStatus.OK.value());
+            response.setContentType(contentType);
+            sendRegion(request, response, file, 0, length);
+            return;
+        }
+        if (regions.isEmpty()) {
+            response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+            return;
+        }
+
+        response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+        if (regions.size() == 1) {
+            long start = regions.get(0)[0];
+            long end = regions.get(0)[1];
+            response.setContentType(contentType);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            sendRegion(request, response, file, start, end - start + 1);
         } else {
-            long rangeLength = Math.min(1024 * 1024, contentLength);
-            region = new ResourceRegion(resource, 0, rangeLength);
+            sendMultipart(request, response, file, regions, contentType, length);
+        }
+    }
+
+    // If-None-Match가 있으면 그것만, 없으면 If-Modified-Since로 판단합니다.
+    private static boolean isNotModified(HttpServletRequest request, String etag, long lastModified) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            return ifNoneMatch.trim().equals("*") || matchesAny(ifNoneMatch, etag);
+        }
+        long ifModifiedSince = dateHeader(request, HttpHeaders.IF_MODIFIED_SINCE);
+        return ifModifiedSince >= 0 && lastModified <= ifModifiedSince;
+    }
+
+    /**
+     * 요청한 구간 목록을 [시작, 끝] 쌍으로 반환합니다.
+     * @return Range를 무시하고 전체를 보내야 하면 null, 만족할 수 있는 구간이 없으면 빈 목록
+     */
+    private static List<long[]> requestedRegions(HttpServletRequest request, String etag, long lastModified, long length) {
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader == null) {
+            return null;
+        }
+        // If-Range가 현재 파일과 다르면 (파일이 바뀌었으면) 구간 대신 전체를 보냅니다.
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange != null) {
+            boolean matches = ifRange.trim().startsWith("\"")
+                    ? ifRange.trim().equals(etag)
+                    : dateHeader(request, HttpHeaders.IF_RANGE) == lastModified;
+            if (!matches) {
+                return null;
+            }
+        }
+
+        List<HttpRange> ranges;
+        try {
+            ranges = HttpRange.parseRanges(rangeHeader);
+        } catch (IllegalArgumentException e) {
+            return null; // 해석할 수 없는 Range는 무시합니다.
+        }
+        if (ranges.isEmpty() || ranges.size() > MAX_RANGES) {
+            return null;
+        }
+
+        List<long[]> regions = new ArrayList<>();
+        long total = 0;
+        for (HttpRange range : ranges) {
+            long start;
+            long end;
+            try {
+                start = range.getRangeStart(length);
+                end = range.getRangeEnd(length);
+            } catch (IllegalArgumentException e) {
+                continue;
+            }
+            if (start >= length || start > end) {
+                continue; // 파일 밖의 구간
+            }
+            regions.add(new long[]{start, end});
+            total += end - start + 1;
+        }
+        // 겹치는 구간으로 파일보다 많은 데이터를 요구하면 전체를 한 번 보냅니다.
+        return total > length ? null : regions;
+    }
+
+    private static void sendRegion(HttpServletRequest request, HttpServletResponse response, Path file, long start, long count) throws IOException {
+        response.setContentLengthLong(count);
+        if (isHead(request) || count == 0) {
+            return;
+        }
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            // 서블릿이 반환된 뒤 커넥터가 sendfile로 전송합니다. (사용자 공간 복사 없음)
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, start + count);
+            return;
         }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            transfer(channel, start, count, Channels.newChannel(response.getOutputStream()));
+        }
+    }
+
+    private static void sendMultipart(HttpServletRequest request, HttpServletResponse response, Path file,
+                                      List<long[]> regions, String contentType, long length) throws IOException {
+        String boundary = UUID.randomUUID().toString().replace("-", "");
+        List<byte[]> partHeaders = new ArrayList<>();
+        long contentLength = 0;
+        for (long[] region : regions) {
+            byte[] header = ("\r\n--" + boundary + "\r\n"
+                    + HttpHeaders.CONTENT_TYPE + ": " + contentType + "\r\n"
+                    + HttpHeaders.CONTENT_RANGE + ": bytes " + region[0] + "-" + region[1] + "/" + length + "\r\n\r\n")
+                    .getBytes(StandardCharsets.US_ASCII);
+            partHeaders.add(header);
+            contentLength += header.length + (region[1] - region[0] + 1);
+        }
+        byte[] closing = ("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.US_ASCII);
+        contentLength += closing.length;
+
+        response.setContentType("multipart/byteranges; boundary=" + boundary);
+        response.setContentLengthLong(contentLength);
+        if (isHead(request)) {
+            return;
+        }
+
+        OutputStream out = response.getOutputStream();
+        WritableByteChannel target = Channels.newChannel(out);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            for (int i = 0; i < regions.size(); i++) {
+                long[] region = regions.get(i);
+                out.write(partHeaders.get(i));
+                transfer(channel, region[0], region[1] - region[0] + 1, target);
+            }
+        }
+        out.write(closing);
+    }
 
-        MediaType mediaType = MediaTypeFactory.getMediaType(resource)
-                .orElse(MediaType.APPLICATION_OCTET_STREAM);
+    private static void transfer(FileChannel channel, long position, long count, WritableByteChannel target) throws IOException {
+        while (count > 0) {
+            long sent = channel.transferTo(position, count, target);
+            if (sent <= 0) {
+                break;
+            }
+            position += sent;
+            count -= sent;
+        }
+    }
+
+    private static boolean matchesAny(String header, String etag) {
+        for (String candidate : header.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long dateHeader(HttpServletRequest request, String name) {
+        try {
+            return request.getDateHeader(name);
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+    }
 
-        return ResponseEntity.status(HttpStatus.PARTIAL_CONTENT)
-                .contentType(mediaType)
-                .body(region);
+    private static boolean isHead(HttpServletRequest request) {
+        return RequestMethod.HEAD.name().equals(request.getMethod());
     }
 }
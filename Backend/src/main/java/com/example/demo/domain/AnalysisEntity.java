@@ -37,4 +37,17 @@ public class AnalysisEntity {
 
     @Column(name = "answer", columnDefinition = "TEXT")
     private String answer; // 면접 종류
+
+    // 요약 점수 (집계 시 JSON을 다시 파싱하지 않도록 별도 컬럼에 저장, 이전에 저장된 행은 null)
+    @Column(name = "vision_score")
+    private Double visionScore; // 시선 분석 average_score
+
+    @Column(name = "emotion_score")
+    private Double emotionScore; // 감정 분석 average_score
+
+    @Column(name = "answer_score")
+    private Double answerScore; // LLM 답변 평가 score
+
+    @Column(name = "aggregated")
+    private Boolean aggregated; // 면접 누적 점수에 반영되었는지 여부
 }
\ No newline at end of file
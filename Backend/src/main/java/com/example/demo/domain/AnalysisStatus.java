@@ -0,0 +1,11 @@
+package com.example.demo.domain;
+
+/**
+ * 답변 영상 한 건의 분석 진행 상태. VideoEntity에 저장되어 마이페이지에서 분석 결과(JSON)를 읽지 않고도 상태를 보여줍니다.
+ */
+public enum AnalysisStatus {
+    PENDING,  // 영상 등록 완료, 분석 대기
+    RUNNING,  // 분석 API 호출 중
+    DONE,     // 분석 결과 저장 완료
+    FAILED    // 분석 실패
+}
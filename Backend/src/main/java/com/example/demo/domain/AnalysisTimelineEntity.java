@@ -0,0 +1,46 @@
+package com.example.demo.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 답변 영상의 프레임별 시선/감정 시계열.
+ * 값은 TimelineCodec의 이진 열 지향 포맷으로 저장되며, 요약 점수는 AnalysisEntity에 있습니다.
+ */
+@Entity
+@Table(name = "analysis_timelines")
+@Getter
+@Setter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@Builder
+public class AnalysisTimelineEntity {
+
+    @Id
+    @Column(name = "video_no")
+    private Long videoNO;
+
+    @OneToOne(fetch = FetchType.LAZY)
+    @MapsId
+    @JoinColumn(name = "video_no")
+    private VideoEntity video;
+
+    @Column(name = "vision_points")
+    private Integer visionPoints; // 시선 시계열 샘플 수
+
+    @Lob
+    @Column(name = "vision_series", columnDefinition = "MEDIUMBLOB")
+    private byte[] visionSeries;
+
+    @Column(name = "emotion_points")
+    private Integer emotionPoints; // 감정 시계열 샘플 수
+
+    @Lob
+    @Column(name = "emotion_series", columnDefinition = "MEDIUMBLOB")
+    private byte[] emotionSeries;
+}
@@ -11,7 +11,8 @@ import lombok.Setter;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "interviews")
+@Table(name = "interviews",
+       indexes = @Index(name = "idx_interviews_user_date_no", columnList = "id, interview_date, interview_no")) // 면접 이력 키셋 페이지네이션용
 @Getter
 @Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED) // JPA 스펙을 위한 기본 생성자
@@ -42,11 +43,61 @@ public class InterviewEntity {
     
     @Column(name = "interview_overall", columnDefinition = "TEXT")
     private String interviewOverall; // 면접 총평
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "interview_status", length = 20)
+    private InterviewStatus status; // 진행 상태 (도입 이전 면접은 null)
+
+    @Column(name = "expected_answers")
+    private Integer expectedAnswers; // 종료 요청 시 전달된 답변 수, 이 수만큼 답변 작업이 끝나면 총평을 생성
+
+    @Column(name = "finalize_requested_at")
+    private LocalDateTime finalizeRequestedAt;
+
+    // === 답변 분석 점수 누적값 (영상 분석이 끝날 때마다 증가, 도입 이전 면접만 null) ===
+    @Column(name = "analyzed_count")
+    private Integer analyzedCount; // 누적된 답변 영상 수
+
+    @Column(name = "score_sum")
+    private Double scoreSum; // LLM 답변 점수 합
+
+    @Column(name = "emotion_sum")
+    private Double emotionSum; // 감정 분석 average_score 합
+
+    @Column(name = "vision_sum")
+    private Double visionSum; // 시선 분석 average_score 합
+    // ===========================================
+
+    public double getScoreAvg() {
+        return average(scoreSum);
+    }
+
+    public double getEmotionAvg() {
+        return average(emotionSum);
+    }
+
+    public double getVisionAvg() {
+        return average(visionSum);
+    }
+
+    private double average(Double sum) {
+        return (analyzedCount == null || analyzedCount == 0 || sum == null) ? 0.0 : sum / analyzedCount;
+    }
     
     @PrePersist
     public void prePersist() {
         if (this.interviewDate == null) {
             this.interviewDate = LocalDateTime.now();
         }
+        if (this.status == null) {
+            this.status = InterviewStatus.IN_PROGRESS;
+        }
+        // 새 면접은 누적값을 0부터 시작합니다. (null은 도입 이전 면접에만 남아 한 번 전체 계산 대상이 됩니다)
+        if (this.analyzedCount == null) {
+            this.analyzedCount = 0;
+            this.scoreSum = 0.0;
+            this.emotionSum = 0.0;
+            this.visionSum = 0.0;
+        }
     }
 }
\ No newline at end of file
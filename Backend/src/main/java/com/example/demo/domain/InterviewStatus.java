@@ -0,0 +1,12 @@
+package com.example.demo.domain;
+
+/**
+ * 면접 회차의 진행 상태. 종합 총평/이전 면접 비교 LLM 호출은 FINALIZE_REQUESTED → SUMMARIZING 전환에 성공한 한 번만 실행됩니다.
+ */
+public enum InterviewStatus {
+    IN_PROGRESS,        // 답변 업로드 중
+    FINALIZE_REQUESTED, // 면접 종료 요청됨, 답변 분석이 모두 끝나기를 기다리는 중
+    SUMMARIZING,        // 종합 총평 생성 중
+    COMPLETED,          // 종합 총평 저장 완료
+    FAILED              // 종합 총평 생성 실패
+}
@@ -0,0 +1,9 @@
+package com.example.demo.domain;
+
+/**
+ * 분할 업로드(UploadSessionEntity)로 받는 파일의 용도. 업로드가 끝나면 용도에 맞는 처리로 넘깁니다.
+ */
+public enum UploadKind {
+    ANSWER,      // 답변 영상 → VideoJobService 작업 대기열
+    CALIBRATION  // 캘리브레이션 영상 → CalibrationService
+}
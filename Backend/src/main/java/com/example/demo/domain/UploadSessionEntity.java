@@ -0,0 +1,80 @@
+package com.example.demo.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 분할(이어 올리기) 업로드 한 건.
+ * 클라이언트는 조각을 offset 순서대로 PUT하며, 연결이 끊기면 receivedBytes부터 다시 보냅니다.
+ * 모든 조각을 받으면 조립된 파일을 용도(kind)에 맞는 처리로 넘깁니다.
+ * 녹화 중 업로드(streaming)는 MediaRecorder의 조각을 녹화하는 동안 보내며, 첫 조각부터 MP4 변환이 시작됩니다.
+ */
+@Entity
+@Table(name = "upload_sessions", indexes = @Index(name = "idx_upload_sessions_status", columnList = "status, updated_at"))
+@Getter
+@Setter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@Builder
+public class UploadSessionEntity {
+
+    @Id
+    @Column(name = "upload_id", length = 36)
+    private String uploadId; // 추측하기 어렵도록 UUID를 사용
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "kind", nullable = false, length = 20)
+    private UploadKind kind;
+
+    @Column(name = "interview_no", nullable = false)
+    private Long interviewNO;
+
+    @Column(name = "question_no")
+    private Long questionNO; // ANSWER 업로드일 때만 사용
+
+    @Column(name = "file_path", nullable = false)
+    private String filePath; // 조각을 이어 쓰는 저장 파일 경로
+
+    @Column(name = "total_bytes", nullable = false)
+    private Long totalBytes; // 녹화 중 업로드는 끝날 때까지 상한값, 완료 시 실제 크기로 확정
+
+    @Column(name = "streaming")
+    private Boolean streaming; // 녹화 중에 조각을 보내는 업로드 (전체 크기를 모름)
+
+    @Column(name = "received_bytes", nullable = false)
+    private Long receivedBytes; // 앞에서부터 연속으로 받은 바이트 수 (다음 조각의 offset)
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private UploadStatus status;
+
+    @Column(name = "job_no")
+    private Long jobNO; // ANSWER 업로드 완료 후 등록된 처리 작업 번호
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    public void prePersist() {
+        LocalDateTime now = LocalDateTime.now();
+        if (this.createdAt == null) {
+            this.createdAt = now;
+        }
+        this.updatedAt = now;
+    }
+
+    @PreUpdate
+    public void preUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
+}
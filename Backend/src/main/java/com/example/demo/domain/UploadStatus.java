@@ -0,0 +1,10 @@
+package com.example.demo.domain;
+
+/**
+ * 분할 업로드(UploadSessionEntity)의 진행 상태.
+ */
+public enum UploadStatus {
+    UPLOADING,  // 조각을 받는 중 (중단되면 받은 위치부터 이어서 올릴 수 있음)
+    PROCESSING, // 모든 조각을 받아 처리 작업 등록/캘리브레이션 중 (실패하면 UPLOADING으로 되돌림)
+    COMPLETED   // 처리 작업이 등록되었거나 캘리브레이션이 저장됨
+}
@@ -7,8 +7,13 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import com.example.demo.service.VideoMetadataInvalidationListener;
+
+import java.time.LocalDateTime;
+
 @Entity
 @Table(name = "videos")
+@EntityListeners(VideoMetadataInvalidationListener.class) // 스트리밍용 영상 정보 캐시 무효화
 @Getter
 @Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
@@ -43,5 +48,17 @@ public class VideoEntity {
     @OneToOne(mappedBy = "video", fetch = FetchType.LAZY)
     private AnalysisEntity analysis;
 
+    // --- 분석 진행 상태 (분석 파이프라인이 갱신) ---
+    // 이 컬럼이 추가되기 전에 저장된 영상은 NULL이며, 분석이 끝난 것으로 간주합니다.
+    @Enumerated(EnumType.STRING)
+    @Column(name = "analysis_status", length = 20)
+    private AnalysisStatus analysisStatus;
+
+    @Column(name = "analysis_started_at")
+    private LocalDateTime analysisStartedAt;
+
+    @Column(name = "analysis_finished_at")
+    private LocalDateTime analysisFinishedAt;
+
     // 필요에 따라 toString, equals, hashCode 등을 추가 가능합니다 (롬복 활용 가능)
 }
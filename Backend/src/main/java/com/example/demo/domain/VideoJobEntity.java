@@ -0,0 +1,103 @@
+package com.example.demo.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 답변 영상 업로드 후 비동기로 처리되는 작업 한 건.
+ * 업로드 요청은 원본 파일만 저장하고 이 테이블에 작업을 등록한 뒤 바로 반환하며,
+ * 실제 변환/분석은 VideoJobService의 워커가 이 레코드를 가져가서 수행합니다.
+ */
+@Entity
+@Table(name = "video_jobs", indexes = @Index(name = "idx_video_jobs_status", columnList = "status, job_no"))
+@Getter
+@Setter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@Builder
+public class VideoJobEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "job_no")
+    private Long jobNO;
+
+    @Column(name = "interview_no", nullable = false)
+    private Long interviewNO;
+
+    @Column(name = "question_no", nullable = false)
+    private Long questionNO;
+
+    @Column(name = "raw_path", nullable = false)
+    private String rawPath; // 업로드된 원본 파일 경로 (webm 등)
+
+    @Column(name = "content_hash", length = 64)
+    private String contentHash; // 원본 파일의 SHA-256, 모델 결과 캐시 키로 사용
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private VideoJobStatus status;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "stage", nullable = false, length = 20)
+    private VideoJobStage stage;
+
+    @Column(name = "video_no")
+    private Long videoNO; // REGISTERING 단계 이후 생성된 VideoEntity의 PK
+
+    // 단계별 체크포인트: 값이 있으면 재시도 시 해당 단계를 건너뜁니다.
+    @Column(name = "mp4_path")
+    private String mp4Path; // TRANSCODING 결과
+
+    @Column(name = "thumbnail_path")
+    private String thumbnailPath; // PROBING 결과
+
+    @Column(name = "audio_path")
+    private String audioPath; // PROBING 결과
+
+    @Column(name = "total_frames")
+    private Integer totalFrames; // PROBING 결과
+
+    @Column(name = "duration_micros")
+    private Long durationMicros; // PROBING 결과
+
+    @Lob
+    @Column(name = "stt_result", columnDefinition = "TEXT")
+    private String sttResult; // STT 결과 (JSON)
+
+    @Column(name = "attempts")
+    private Integer attempts; // 현재 단계의 실패 횟수
+
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt; // 재시도 대기 중이면 다음 실행 가능 시각
+
+    @Column(name = "error_message", length = 1000)
+    private String errorMessage;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    public void prePersist() {
+        LocalDateTime now = LocalDateTime.now();
+        if (this.createdAt == null) {
+            this.createdAt = now;
+        }
+        this.updatedAt = now;
+    }
+
+    @PreUpdate
+    public void preUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
+}
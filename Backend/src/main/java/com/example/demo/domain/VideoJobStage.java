@@ -0,0 +1,16 @@
+package com.example.demo.domain;
+
+/**
+ * 답변 영상 처리 파이프라인의 단계. 상태 조회 API에서 현재 어느 단계인지 보여주는 데 사용합니다.
+ */
+public enum VideoJobStage {
+    UPLOADED,      // 원본 파일 저장 완료
+    TRANSCODING,   // MP4 변환
+    PROBING,       // 썸네일/프레임 수/음성 추출 (파일을 한 번만 엽니다)
+    REGISTERING,   // VideoEntity 저장
+    STT,           // STT 호출
+    ANALYSIS,      // 감정/LLM/시선 분석
+    AGGREGATE,     // 면접 총평 갱신
+    PACKAGING,     // HLS 화질별 패키징 (video.hls.enabled일 때만, 실패해도 MP4로 재생)
+    COMPLETED
+}
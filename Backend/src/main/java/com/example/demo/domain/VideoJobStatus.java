@@ -0,0 +1,11 @@
+package com.example.demo.domain;
+
+/**
+ * 답변 영상 처리 작업(VideoJobEntity)의 진행 상태.
+ */
+public enum VideoJobStatus {
+    QUEUED,   // 대기열에 등록됨 (워커가 아직 가져가지 않음)
+    RUNNING,  // 워커가 처리 중
+    DONE,     // 모든 단계 완료
+    FAILED    // 처리 중 오류 발생
+}
@@ -0,0 +1,22 @@
+package com.example.demo.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 면접 이력 한 페이지. 다음 페이지가 있으면 마지막 항목의 (interviewDate, interviewNo)가 커서로 채워집니다.
+ */
+@Getter
+@AllArgsConstructor
+public class InterviewHistoryPageDto {
+    private List<InterviewSummaryDto> interviews;
+    private LocalDateTime nextCursorDate; // 다음 페이지가 없으면 null
+    private Long nextCursorNo;            // 다음 페이지가 없으면 null
+
+    public boolean hasNext() {
+        return nextCursorNo != null;
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.demo.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 마이페이지 면접 목록용 요약 정보. InterviewRepository의 프로젝션 쿼리 한 번으로 채워집니다.
+ */
+@Getter
+@AllArgsConstructor
+public class InterviewSummaryDto {
+    private Long interviewNo;
+    private String interviewTitle;
+    private LocalDateTime interviewDate;
+    private Integer interviewType;   // 면접 종류 (1=모의면접, 2=실전면접)
+    private String interviewOverall;
+    private Long questionCount;      // 연결된 답변 영상 수
+    private Long pendingCount;       // 분석 대기/진행 중인 답변 영상 수
+    private Long failedCount;        // 분석에 실패한 답변 영상 수
+
+    public boolean isAllAnalyzed() {
+        return pendingCount == 0;
+    }
+
+    public boolean hasFailed() {
+        return failedCount > 0;
+    }
+}
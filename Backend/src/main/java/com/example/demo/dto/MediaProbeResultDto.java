@@ -0,0 +1,18 @@
+package com.example.demo.dto;
+
+import java.io.File;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * MediaProbeService가 동영상 파일을 한 번 열어 얻은 결과.
+ */
+@Getter
+@AllArgsConstructor
+public class MediaProbeResultDto {
+    private File thumbnailFile;  // 썸네일 이미지 (1초 지점, 영상이 더 짧으면 첫 프레임)
+    private int totalFrames;     // 컨테이너 기준 총 프레임 수
+    private long durationMicros; // 재생 시간 (마이크로초)
+    private File audioFile;      // 추출된 음성 파일 (audio.extract.format 형식, 음성 트랙이 없으면 null)
+}
@@ -0,0 +1,21 @@
+package com.example.demo.dto;
+
+import java.io.File;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * FrameSamplerService가 영상을 한 번 디코딩해 만든 분석용 프레임 저장소.
+ * 감정/시선 분석 서버는 같은 호스트에서 경로로 열어 저장소 파일을 메모리 매핑하고, 색인의 위치로 프레임을 읽습니다.
+ */
+@Getter
+@AllArgsConstructor
+public class SampledFramesDto {
+    private File directory;   // 저장소 디렉터리 (분석이 모두 끝나면 삭제)
+    private File storeFile;   // frames.bin: JPEG 프레임을 이어 붙인 파일
+    private File indexFile;   // frames.json: 원본 프레임 번호별 위치/길이
+    private double sourceFps; // 원본 프레임레이트
+    private int step;         // 원본 몇 프레임마다 하나를 골랐는지
+    private int frameCount;   // 저장한 프레임 수
+}
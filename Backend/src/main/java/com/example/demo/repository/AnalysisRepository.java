@@ -1,7 +1,11 @@
 package com.example.demo.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.Optional;
 
 import com.example.demo.domain.AnalysisEntity;
@@ -10,4 +14,11 @@ import com.example.demo.domain.AnalysisEntity;
 public interface AnalysisRepository extends JpaRepository<AnalysisEntity, Long> {
     // Custom query methods can be defined here.
 	Optional<AnalysisEntity> findByVideoNO(Long videoNO);
+
+	// 면접 누적 점수에 아직 반영되지 않은 경우에만 반영 표시 (같은 영상이 두 번 더해지지 않도록)
+	@Transactional
+	@Modifying(clearAutomatically = true)
+	@Query("UPDATE AnalysisEntity a SET a.aggregated = true " +
+	       "WHERE a.videoNO = :videoNo AND (a.aggregated IS NULL OR a.aggregated = false)")
+	int markAggregated(@Param("videoNo") Long videoNo);
 }
\ No newline at end of file
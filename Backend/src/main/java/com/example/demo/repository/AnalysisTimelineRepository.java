@@ -0,0 +1,10 @@
+package com.example.demo.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.example.demo.domain.AnalysisTimelineEntity;
+
+@Repository
+public interface AnalysisTimelineRepository extends JpaRepository<AnalysisTimelineEntity, Long> {
+}
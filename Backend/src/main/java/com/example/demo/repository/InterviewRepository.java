@@ -1,11 +1,19 @@
 package com.example.demo.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.example.demo.domain.InterviewEntity;
+import com.example.demo.domain.InterviewStatus;
+import com.example.demo.dto.InterviewSummaryDto;
 
 @Repository
 public interface InterviewRepository extends JpaRepository<InterviewEntity, Long> {
@@ -14,4 +22,83 @@ public interface InterviewRepository extends JpaRepository<InterviewEntity, Long
 
     // 가장 최근 인터뷰 1건 조회. 'userId'로 필터, interviewNo 제외, interviewDate 내림차순 정렬
     Optional<InterviewEntity> findTopByUser_IdAndInterviewNONotOrderByInterviewDateDesc(String userId, Long interviewNO);
-}
\ No newline at end of file
+
+    // 답변 영상 1개의 점수를 면접 누적값에 더합니다. (읽고 쓰는 사이에 다른 작업이 끼어들지 않도록 한 문장으로 갱신)
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE InterviewEntity i SET i.analyzedCount = COALESCE(i.analyzedCount, 0) + 1, " +
+           "i.scoreSum = COALESCE(i.scoreSum, 0) + :score, " +
+           "i.emotionSum = COALESCE(i.emotionSum, 0) + :emotion, " +
+           "i.visionSum = COALESCE(i.visionSum, 0) + :vision " +
+           "WHERE i.interviewNO = :interviewNo")
+    int addAnalysisAggregate(@Param("interviewNo") Long interviewNo,
+                             @Param("score") double score,
+                             @Param("emotion") double emotion,
+                             @Param("vision") double vision);
+
+    // 누적값이 없는 (도입 이전) 면접에 전체 계산 결과를 한 번 저장합니다.
+    // 아직 null일 때만 바뀌므로 반환값이 0이면 다른 작업이 먼저 저장한 것입니다.
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE InterviewEntity i SET i.analyzedCount = :count, i.scoreSum = :score, " +
+           "i.emotionSum = :emotion, i.visionSum = :vision " +
+           "WHERE i.interviewNO = :interviewNo AND i.analyzedCount IS NULL")
+    int initAnalysisAggregate(@Param("interviewNo") Long interviewNo,
+                              @Param("count") int count,
+                              @Param("score") double score,
+                              @Param("emotion") double emotion,
+                              @Param("vision") double vision);
+
+    // 면접 종료 요청: 진행 중인 면접만 FINALIZE_REQUESTED로 바뀌므로 반환값이 0이면 이미 종료 처리된 면접입니다.
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE InterviewEntity i SET i.status = com.example.demo.domain.InterviewStatus.FINALIZE_REQUESTED, " +
+           "i.expectedAnswers = :expectedAnswers, i.finalizeRequestedAt = :now " +
+           "WHERE i.interviewNO = :interviewNo " +
+           "AND (i.status IS NULL OR i.status = com.example.demo.domain.InterviewStatus.IN_PROGRESS)")
+    int requestFinalize(@Param("interviewNo") Long interviewNo,
+                        @Param("expectedAnswers") Integer expectedAnswers,
+                        @Param("now") LocalDateTime now);
+
+    // 상태가 expected일 때만 변경되므로 반환값이 1이면 전환에 성공한 것입니다.
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE InterviewEntity i SET i.status = :next WHERE i.interviewNO = :interviewNo AND i.status = :expected")
+    int updateStatusIf(@Param("interviewNo") Long interviewNo,
+                       @Param("expected") InterviewStatus expected,
+                       @Param("next") InterviewStatus next);
+
+    // 서버 재시작 시 총평 생성 중이던 면접을 다시 대기 상태로 되돌림
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE InterviewEntity i SET i.status = :next WHERE i.status = :expected")
+    int updateAllStatus(@Param("expected") InterviewStatus expected, @Param("next") InterviewStatus next);
+
+    List<InterviewEntity> findByStatus(InterviewStatus status);
+
+    // 마이페이지 목록: 인터뷰별 영상 수와 분석 상태별 개수를 한 번의 쿼리로 조회 (최신순)
+    // 분석 결과(JSON) 테이블은 읽지 않고 videos.analysis_status만 사용합니다.
+    String SUMMARY_SELECT = "SELECT new com.example.demo.dto.InterviewSummaryDto(" +
+           "i.interviewNO, i.interviewTitle, i.interviewDate, i.interviewType, i.interviewOverall, " +
+           "(SELECT COUNT(v) FROM VideoEntity v WHERE v.interview = i), " +
+           "(SELECT COUNT(v) FROM VideoEntity v WHERE v.interview = i " +
+           "    AND v.analysisStatus IN (com.example.demo.domain.AnalysisStatus.PENDING, com.example.demo.domain.AnalysisStatus.RUNNING)), " +
+           "(SELECT COUNT(v) FROM VideoEntity v WHERE v.interview = i " +
+           "    AND v.analysisStatus = com.example.demo.domain.AnalysisStatus.FAILED)) " +
+           "FROM InterviewEntity i WHERE i.user.id = :userId ";
+
+    String SUMMARY_ORDER = "ORDER BY i.interviewDate DESC, i.interviewNO DESC";
+
+    // 첫 페이지
+    @Query(SUMMARY_SELECT + SUMMARY_ORDER)
+    List<InterviewSummaryDto> findSummariesByUserId(@Param("userId") String userId, Limit limit);
+
+    // 다음 페이지: (interviewDate, interviewNO) 커서보다 오래된 인터뷰 (idx_interviews_user_date_no 사용)
+    @Query(SUMMARY_SELECT +
+           "AND (i.interviewDate < :cursorDate OR (i.interviewDate = :cursorDate AND i.interviewNO < :cursorNo)) " +
+           SUMMARY_ORDER)
+    List<InterviewSummaryDto> findSummariesByUserIdBefore(@Param("userId") String userId,
+                                                         @Param("cursorDate") LocalDateTime cursorDate,
+                                                         @Param("cursorNo") Long cursorNo,
+                                                         Limit limit);
+}
@@ -0,0 +1,62 @@
+package com.example.demo.repository;
+
+import com.example.demo.domain.UploadSessionEntity;
+import com.example.demo.domain.UploadStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface UploadSessionRepository extends JpaRepository<UploadSessionEntity, String> {
+
+    // 조각 반영: 받은 위치가 expected일 때만 전진하므로 같은 조각이 동시에 두 번 와도 한 번만 반영됨
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE UploadSessionEntity u SET u.receivedBytes = :next, u.updatedAt = CURRENT_TIMESTAMP " +
+           "WHERE u.uploadId = :uploadId AND u.status = com.example.demo.domain.UploadStatus.UPLOADING " +
+           "AND u.receivedBytes = :expected")
+    int advance(@Param("uploadId") String uploadId, @Param("expected") long expected, @Param("next") long next);
+
+    // 처리 단계 선점: 모든 조각을 받았을 때만 바뀌며, 반환값이 1인 요청만 처리 단계로 넘김
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE UploadSessionEntity u SET u.status = :next, u.updatedAt = CURRENT_TIMESTAMP " +
+           "WHERE u.uploadId = :uploadId AND u.status = :expected AND u.receivedBytes = u.totalBytes")
+    int updateStatusIfComplete(@Param("uploadId") String uploadId,
+                               @Param("expected") UploadStatus expected,
+                               @Param("next") UploadStatus next);
+
+    // 처리 단계 결과 반영: 상태가 expected일 때만 바뀌며, 완료 시 등록된 작업 번호를 함께 저장
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE UploadSessionEntity u SET u.status = :next, u.jobNO = :jobNo, u.updatedAt = CURRENT_TIMESTAMP " +
+           "WHERE u.uploadId = :uploadId AND u.status = :expected")
+    int updateStatusIf(@Param("uploadId") String uploadId,
+                       @Param("expected") UploadStatus expected,
+                       @Param("next") UploadStatus next,
+                       @Param("jobNo") Long jobNo);
+
+    // 서버 재시작 시 처리 단계로 넘기던 업로드를 다시 완료 요청할 수 있도록 되돌림
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE UploadSessionEntity u SET u.status = :next, u.updatedAt = CURRENT_TIMESTAMP WHERE u.status = :expected")
+    int updateAllStatus(@Param("expected") UploadStatus expected, @Param("next") UploadStatus next);
+
+    // 녹화 중 업로드 종료: 지금까지 받은 크기를 전체 크기로 확정
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE UploadSessionEntity u SET u.totalBytes = u.receivedBytes, u.updatedAt = CURRENT_TIMESTAMP " +
+           "WHERE u.uploadId = :uploadId AND u.status = com.example.demo.domain.UploadStatus.UPLOADING " +
+           "AND u.streaming = true AND u.receivedBytes > 0")
+    int fixStreamingSize(@Param("uploadId") String uploadId);
+
+    // 오래 방치된 업로드 정리용
+    List<UploadSessionEntity> findByStatusAndUpdatedAtBefore(UploadStatus status, LocalDateTime updatedAt);
+}
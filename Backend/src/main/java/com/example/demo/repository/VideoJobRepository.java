@@ -0,0 +1,43 @@
+package com.example.demo.repository;
+
+import com.example.demo.domain.VideoJobEntity;
+import com.example.demo.domain.VideoJobStatus;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface VideoJobRepository extends JpaRepository<VideoJobEntity, Long> {
+
+    // 대기 중인 작업 중 재시도 대기 시각이 지난 작업을 오래된 순으로 조회
+    @Query("SELECT j FROM VideoJobEntity j WHERE j.status = :status " +
+           "AND (j.nextAttemptAt IS NULL OR j.nextAttemptAt <= :now) ORDER BY j.jobNO ASC")
+    List<VideoJobEntity> findReady(@Param("status") VideoJobStatus status, @Param("now") LocalDateTime now, Limit limit);
+
+    // 면접 회차별 특정 상태의 답변 작업 수 (면접 종료 시 분석이 모두 끝났는지 확인)
+    long countByInterviewNOAndStatusIn(Long interviewNO, Collection<VideoJobStatus> statuses);
+
+    // 작업 선점: 상태가 expected일 때만 변경되므로 반환값이 1이면 선점 성공
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE VideoJobEntity j SET j.status = :next, j.updatedAt = CURRENT_TIMESTAMP " +
+           "WHERE j.jobNO = :jobNo AND j.status = :expected")
+    int updateStatusIf(@Param("jobNo") Long jobNo,
+                       @Param("expected") VideoJobStatus expected,
+                       @Param("next") VideoJobStatus next);
+
+    // 서버 재시작 시 처리 중이던 작업을 다시 대기열로 되돌림
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE VideoJobEntity j SET j.status = :next WHERE j.status = :expected")
+    int updateAllStatus(@Param("expected") VideoJobStatus expected, @Param("next") VideoJobStatus next);
+}
@@ -1,14 +1,18 @@
 package com.example.demo.repository;
 
+import com.example.demo.domain.AnalysisStatus;
 import com.example.demo.domain.InterviewEntity;
 import com.example.demo.domain.QuestionEntity;
 import com.example.demo.domain.VideoEntity;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 public interface VideoRepository extends JpaRepository<VideoEntity, Long> {
 
@@ -27,4 +31,17 @@ public interface VideoRepository extends JpaRepository<VideoEntity, Long> {
 	           "WHERE v.interview.interviewNO = :interviewNo")
 	    List<VideoEntity> findAllWithAnalysisByInterviewNo(@Param("interviewNo") Long interviewNo);
 
-}
\ No newline at end of file
+	// 분석 시작: 상태를 RUNNING으로 바꾸고 시작 시각을 기록
+	@Transactional
+	@Modifying
+	@Query("UPDATE VideoEntity v SET v.analysisStatus = com.example.demo.domain.AnalysisStatus.RUNNING, " +
+	       "v.analysisStartedAt = :now, v.analysisFinishedAt = NULL WHERE v.videoNO = :videoNo")
+	int markAnalysisStarted(@Param("videoNo") Long videoNo, @Param("now") LocalDateTime now);
+
+	// 분석 종료: 상태를 DONE 또는 FAILED로 바꾸고 종료 시각을 기록
+	@Transactional
+	@Modifying
+	@Query("UPDATE VideoEntity v SET v.analysisStatus = :status, v.analysisFinishedAt = :now WHERE v.videoNO = :videoNo")
+	int markAnalysisFinished(@Param("videoNo") Long videoNo, @Param("status") AnalysisStatus status, @Param("now") LocalDateTime now);
+
+}
@@ -1,20 +1,28 @@
 package com.example.demo.service;
 
 import com.example.demo.domain.AnalysisEntity;
+import com.example.demo.domain.AnalysisStatus;
+import com.example.demo.domain.AnalysisTimelineEntity;
 import com.example.demo.domain.CalibrationEntity;
 import com.example.demo.domain.VideoEntity;
 import com.example.demo.dto.AnalysisDto;
+import com.example.demo.dto.SampledFramesDto;
 import com.example.demo.repository.AnalysisRepository;
+import com.example.demo.repository.AnalysisTimelineRepository;
 import com.example.demo.repository.CalibrationRepository;
 import com.example.demo.repository.VideoRepository;
+import com.example.demo.util.TimelineCodec;
+import com.example.demo.util.TimelineSeries;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 import org.springframework.web.client.RestTemplate;
@@ -24,56 +32,174 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.core.io.FileSystemResource;
 import org.springframework.http.HttpEntity;
 
-import jakarta.persistence.EntityManager;
-import jakarta.persistence.PersistenceContext;
-import jakarta.transaction.Transactional;
-
 import java.io.File;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
 public class AnalysisService {
 
     private final AnalysisRepository analysisRepository;
+    private final AnalysisTimelineRepository analysisTimelineRepository;
     private final VideoRepository videoRepository;
     private final CalibrationRepository calibrationRepository;
     private final RestTemplate restTemplate;
+    // 병렬 분기별 호출용 (응답 대기 시간 = 분기 제한 시간)
+    private final RestTemplate emotionRestTemplate;
+    private final RestTemplate llmRestTemplate;
+    private final RestTemplate visionRestTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ModelResultCacheService modelResultCacheService;
+    private final FrameSamplerService frameSamplerService;
     private final ObjectMapper objectMapper;
 
-    @PersistenceContext
-    private EntityManager entityManager; // 추가
+    private final ExecutorService analysisExecutor;
+
+    // 분석 서버 응답에서 프레임별 배열이 들어 있는 필드와 프레임 번호 필드
+    private static final String VISION_SERIES_KEY = "time_series";
+    private static final String VISION_FRAME_KEY = "frame";
+    private static final String EMOTION_SERIES_KEY = "results";
+    private static final String EMOTION_FRAME_KEY = "frame_idx";
+
+    // true면 감정/LLM/시선 분석을 동시에 호출하고, false면 기존처럼 순차 호출합니다.
+    @Value("${analysis.parallel.enabled:true}")
+    private boolean parallelEnabled;
+
+    // 병렬 모드에서 각 분석 호출의 최대 대기 시간(초)
+    @Value("${analysis.timeout.emotion-seconds:300}")
+    private long emotionTimeoutSeconds;
+
+    @Value("${analysis.timeout.llm-seconds:120}")
+    private long llmTimeoutSeconds;
+
+    @Value("${analysis.timeout.vision-seconds:300}")
+    private long visionTimeoutSeconds;
+
+    // 모델 서버 주소
+    @Value("${model.llm.url}")
+    private String llmUrl;
+
+    @Value("${model.emotion.url}")
+    private String emotionUrl;
 
-    public AnalysisService(AnalysisRepository analysisRepository, VideoRepository videoRepository, CalibrationRepository calibrationRepository) {
+    @Value("${model.vision.url}")
+    private String visionUrl;
+
+    // 모델이 바뀌면 올려서 이전 캐시를 무효화합니다.
+    @Value("${model.emotion.version:1}")
+    private String emotionVersion;
+
+    @Value("${model.vision.version:1}")
+    private String visionVersion;
+
+    public AnalysisService(AnalysisRepository analysisRepository, AnalysisTimelineRepository analysisTimelineRepository,
+                           VideoRepository videoRepository, CalibrationRepository calibrationRepository,
+                           RestTemplate restTemplate, TransactionTemplate transactionTemplate,
+                           ModelResultCacheService modelResultCacheService, FrameSamplerService frameSamplerService,
+                           @Qualifier("analysisExecutor") ExecutorService analysisExecutor,
+                           @Qualifier("emotionRestTemplate") RestTemplate emotionRestTemplate,
+                           @Qualifier("llmRestTemplate") RestTemplate llmRestTemplate,
+                           @Qualifier("visionRestTemplate") RestTemplate visionRestTemplate) {
         this.analysisRepository = analysisRepository;
+        this.analysisTimelineRepository = analysisTimelineRepository;
         this.videoRepository = videoRepository;
         this.calibrationRepository = calibrationRepository;        
-        this.restTemplate = new RestTemplate();
+        this.analysisExecutor = analysisExecutor;
+        this.restTemplate = restTemplate;
+        this.emotionRestTemplate = emotionRestTemplate;
+        this.llmRestTemplate = llmRestTemplate;
+        this.visionRestTemplate = visionRestTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.modelResultCacheService = modelResultCacheService;
+        this.frameSamplerService = frameSamplerService;
         this.objectMapper = new ObjectMapper();
     }
 
-    @Async
-    @Transactional
-    public void analyzeAll(Long videoNo, String videoPath, String question, JsonNode answer, long interviewNo) {
+    /**
+     * 답변 영상 하나에 대해 감정/LLM/시선/overall 분석을 호출하고 결과를 저장합니다.
+     * 모델 서버 호출은 트랜잭션 밖에서 실행하고, 결과 저장만 짧은 쓰기 트랜잭션으로 처리하므로
+     * 분석에 수 분이 걸려도 DB 커넥션을 붙잡고 있지 않습니다.
+     */
+    public void analyzeAll(Long videoNo, String videoPath, String question, JsonNode answer, long interviewNo, String mediaKey) {
+        // 감정/시선 분석이 함께 쓰는 프레임 저장소 이름
+        String frameKey = mediaKey != null ? mediaKey : "video-" + videoNo;
         try {
-            System.out.println("[AnalysisService] 감정 분석 API 호출 시작: videoPath=" + videoPath);
-            Object emotionResponse = callEmotionApi(videoPath);
-            System.out.println("[AnalysisService] 감정 분석 API 응답: " + objectToJsonSafe(emotionResponse));
-            
             String text = answer.path("text").asText("");
             String timeline = answer.get("timeline").toString();
             System.out.println(timeline);
-            System.out.println("[AnalysisService] LLM 분석 API 호출 시작: question=" + question + ", answer=" + text);
-            Object llmResponse = callLLMApi(question, text, timeline);
-            System.out.println("[AnalysisService] LLM 분석 API 응답: " + objectToJsonSafe(llmResponse));
-            
+
             CalibrationEntity calibration = calibrationRepository.findByInterview_InterviewNO(interviewNo)
                     .orElseThrow(() -> new IllegalArgumentException("캘리브레이션 정보가 없습니다. interviewNo: " + interviewNo));
-            
-            System.out.println("[AnalysisService] 시선 분석 API 호출 시작");
-            String visionData = analyzeVideoSeries(videoPath, calibration.getGazePitch(), calibration.getGazeYaw(), calibration.getHeadPitch(), calibration.getHeadYaw());
-            System.out.println("[AnalysisService] 시선 분석 API 응답, 답변 저장 시작");
+
+            // 감정/LLM/시선 분석은 서로 독립적이므로 병렬로 호출하고, overall만 세 결과를 기다립니다.
+            Object emotionResponse;
+            Object llmResponse;
+            String visionData;
+
+            // 프레임 저장소는 감정/시선 분석 두 곳이 쓰므로 여기서 한 번에 잡고, 각 분석이 끝날 때 하나씩 돌려줍니다.
+            // 먼저 끝난 분석이 저장소를 지워 늦은 분석이 영상을 다시 디코딩하는 일이 없습니다.
+            FrameSamplerService.Reservation frames = frameSamplerService.isEnabled()
+                    ? frameSamplerService.reserve(videoPath, frameKey, 2)
+                    : null;
+
+            long startTime = System.currentTimeMillis();
+            try {
+                if (parallelEnabled) {
+                    CompletableFuture<Object> emotionFuture = runBranch("감정 분석", () -> cachedEmotion(videoPath, mediaKey, frames), emotionTimeoutSeconds);
+                    CompletableFuture<Object> llmFuture = runBranch("LLM 분석", () -> callLLMApi(question, text, timeline), llmTimeoutSeconds);
+                    CompletableFuture<String> visionFuture = runBranch("시선 분석",
+                            () -> cachedVision(videoPath, calibration, mediaKey, frames),
+                            visionTimeoutSeconds);
+
+                    // 하나라도 실패하면 나머지를 취소해, 결과를 쓰지 않을 모델 호출을 끝까지 기다리지 않습니다.
+                    List<CompletableFuture<?>> branches = List.of(emotionFuture, llmFuture, visionFuture);
+                    AtomicReference<Throwable> firstFailure = new AtomicReference<>();
+                    for (CompletableFuture<?> branch : branches) {
+                        branch.whenComplete((result, error) -> {
+                            if (error != null && firstFailure.compareAndSet(null, error)) {
+                                branches.forEach(other -> other.cancel(true));
+                            }
+                        });
+                    }
+                    try {
+                        CompletableFuture.allOf(emotionFuture, llmFuture, visionFuture).join();
+                    } catch (CompletionException | CancellationException e) {
+                        throw firstFailure.get() instanceof Exception cause ? cause : e;
+                    }
+                    emotionResponse = emotionFuture.join();
+                    llmResponse = llmFuture.join();
+                    visionData = visionFuture.join();
+                } else {
+                    System.out.println("[AnalysisService] 감정 분석 API 호출 시작: videoPath=" + videoPath);
+                    emotionResponse = cachedEmotion(videoPath, mediaKey, frames);
+
+                    System.out.println("[AnalysisService] LLM 분석 API 호출 시작: question=" + question + ", answer=" + text);
+                    llmResponse = callLLMApi(question, text, timeline);
+
+                    System.out.println("[AnalysisService] 시선 분석 API 호출 시작");
+                    visionData = cachedVision(videoPath, calibration, mediaKey, frames);
+                }
+            } finally {
+                // 분석이 실패하거나 취소되어 돌려주지 못한 프레임 저장소 참조를 여기서 돌려줍니다.
+                // (이미 돌려준 참조는 다시 세지 않으므로, 정상 종료라면 아무 일도 하지 않습니다)
+                if (frames != null) {
+                    frames.releaseAll();
+                }
+            }
+            System.out.println("[AnalysisService] 감정 분석 API 응답: " + objectToJsonSafe(emotionResponse));
+            System.out.println("[AnalysisService] LLM 분석 API 응답: " + objectToJsonSafe(llmResponse));
+            System.out.println("[AnalysisService] 시선 분석 API 응답, 답변 저장 시작 (" + (System.currentTimeMillis() - startTime) + "ms)");
             
             
          // overall API 호출
@@ -90,24 +216,124 @@ public class AnalysisService {
 
             String combinedAnswerJson = combinedAnswerNode.toString();
 
-            VideoEntity videoEntity = videoRepository.findById(videoNo)
-                    .orElseThrow(() -> new IllegalArgumentException("VideoEntity not found with videoNo: " + videoNo));
-
-            VideoEntity managedVideoEntity = entityManager.merge(videoEntity);
-
-            AnalysisEntity analysisEntity = AnalysisEntity.builder()
-                    .video(managedVideoEntity)
-                    .vision(visionData)
-                    .emotion(objectToJsonSafe(emotionResponse))
-                    .answer(combinedAnswerJson)  // overall 데이터를 포함한 answer 저장
-                    .build();
-
-            analysisRepository.save(analysisEntity);
-            System.out.println("[AnalysisService] AnalysisEntity 저장 완료 videoNo=" + videoNo);
+            // 프레임별 시계열은 이진 열 포맷으로, 요약 점수는 별도 컬럼으로 저장합니다.
+            String emotionData = objectToJsonSafe(emotionResponse);
+            JsonNode visionNode = objectMapper.readTree(visionData != null ? visionData : "{}");
+            JsonNode emotionNode = objectMapper.readTree(emotionData);
+            TimelineSeries visionSeries = TimelineSeries.fromJson(seriesOf(visionNode, VISION_SERIES_KEY), VISION_FRAME_KEY);
+            TimelineSeries emotionSeries = TimelineSeries.fromJson(seriesOf(emotionNode, EMOTION_SERIES_KEY), EMOTION_FRAME_KEY);
+            byte[] encodedVision = visionSeries != null ? TimelineCodec.encode(visionSeries) : null;
+            byte[] encodedEmotion = emotionSeries != null ? TimelineCodec.encode(emotionSeries) : null;
+
+            // 여기서부터만 트랜잭션: 분석 결과와 영상 상태를 한 번에 저장합니다.
+            long writeStart = System.currentTimeMillis();
+            transactionTemplate.executeWithoutResult(status -> {
+                VideoEntity videoEntity = videoRepository.findById(videoNo)
+                        .orElseThrow(() -> new IllegalArgumentException("VideoEntity not found with videoNo: " + videoNo));
+                videoEntity.setAnalysisStatus(AnalysisStatus.DONE);
+                videoEntity.setAnalysisFinishedAt(LocalDateTime.now());
+
+                // 시계열로 옮기지 못한 응답(배열이 비어 있는 경우 등)만 원본 JSON을 그대로 남깁니다.
+                AnalysisEntity analysisEntity = AnalysisEntity.builder()
+                        .video(videoEntity)
+                        .vision(visionSeries != null ? null : visionData)
+                        .emotion(emotionSeries != null ? null : emotionData)
+                        .answer(combinedAnswerJson)  // overall 데이터를 포함한 answer 저장
+                        .visionScore(numberOrNull(visionNode.get("average_score")))
+                        .emotionScore(numberOrNull(emotionNode.get("average_score")))
+                        .answerScore(numberOrNull(combinedAnswerNode.get("score")))
+                        .build();
+
+                analysisRepository.save(analysisEntity);
+
+                if (encodedVision != null || encodedEmotion != null) {
+                    analysisTimelineRepository.save(AnalysisTimelineEntity.builder()
+                            .video(videoEntity)
+                            .visionPoints(visionSeries != null ? visionSeries.size() : null)
+                            .visionSeries(encodedVision)
+                            .emotionPoints(emotionSeries != null ? emotionSeries.size() : null)
+                            .emotionSeries(encodedEmotion)
+                            .build());
+                }
+            });
+            System.out.println("[AnalysisService] AnalysisEntity 저장 완료 videoNo=" + videoNo
+                    + " (쓰기 트랜잭션 " + (System.currentTimeMillis() - writeStart) + "ms)");
 
         } catch (Exception e) {
             System.err.println("[AnalysisService] API 호출 또는 저장 중 예외 발생:");
             e.printStackTrace();
+            // 호출한 작업이 실패를 기록할 수 있도록 다시 던집니다.
+            throw new IllegalStateException("답변 분석에 실패했습니다. videoNo: " + videoNo, e);
+        }
+    }
+
+    /**
+     * 분석 API 호출 하나를 analysisExecutor에서 실행하고, 제한 시간을 넘기면 TimeoutException으로 완료시킵니다.
+     * 제한 시간을 넘기거나 cancel로 취소되면 실행 중인 스레드를 인터럽트합니다.
+     * 가상 스레드의 소켓 읽기는 인터럽트되면 연결을 닫으므로 모델 서버 호출도 그 자리에서 끝납니다.
+     * @param name 로그에 표시할 분석 이름
+     * @param call 실행할 API 호출
+     * @param timeoutSeconds 최대 대기 시간(초)
+     */
+    private <T> CompletableFuture<T> runBranch(String name, Supplier<T> call, long timeoutSeconds) {
+        CompletableFuture<T> branch = new CompletableFuture<>();
+        Future<?> task = analysisExecutor.submit(() -> {
+            long startTime = System.currentTimeMillis();
+            System.out.println("[AnalysisService] " + name + " API 호출 시작");
+            try {
+                T result = call.get();
+                System.out.println("[AnalysisService] " + name + " API 완료 (" + (System.currentTimeMillis() - startTime) + "ms)");
+                branch.complete(result);
+            } catch (Throwable e) {
+                branch.completeExceptionally(e);
+            }
+        });
+        branch.orTimeout(timeoutSeconds, TimeUnit.SECONDS)
+                .whenComplete((result, error) -> {
+                    if (error != null) {
+                        task.cancel(true);
+                    }
+                });
+        return branch;
+    }
+
+    // 같은 영상(mediaKey)의 감정 분석 결과는 캐시에서 반환합니다. 캐시 적중이어도 프레임 저장소 참조는 돌려줍니다.
+    private Object cachedEmotion(String videoPath, String mediaKey, FrameSamplerService.Reservation frames) {
+        String json;
+        try {
+            json = modelResultCacheService.getOrCompute("emotion",
+                    ModelResultCacheService.key("emotion", emotionVersion, mediaKey, frameSamplerService.signature()),
+                    () -> {
+                        Object response = frames != null ? callEmotionFramesApi(frames.get()) : callEmotionApi(videoPath);
+                        return response != null ? objectToJsonSafe(response) : null;
+                    });
+        } finally {
+            if (frames != null) {
+                frames.release();
+            }
+        }
+        try {
+            return json != null ? objectMapper.readValue(json, Object.class) : null;
+        } catch (JsonProcessingException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    // 시선 분석 결과는 영상과 캘리브레이션 보정값이 모두 같을 때만 캐시에서 반환합니다.
+    private String cachedVision(String videoPath, CalibrationEntity calibration, String mediaKey, FrameSamplerService.Reservation frames) {
+        try {
+            return modelResultCacheService.getOrCompute("vision",
+                    ModelResultCacheService.key("vision", visionVersion, mediaKey, frameSamplerService.signature(),
+                            calibration.getGazePitch(), calibration.getGazeYaw(), calibration.getHeadPitch(), calibration.getHeadYaw()),
+                    () -> frames != null
+                            ? analyzeFrameSeries(frames.get(),
+                                    calibration.getGazePitch(), calibration.getGazeYaw(), calibration.getHeadPitch(), calibration.getHeadYaw())
+                            : analyzeVideoSeries(videoPath, calibration.getGazePitch(), calibration.getGazeYaw(), calibration.getHeadPitch(), calibration.getHeadYaw()));
+        } finally {
+            if (frames != null) {
+                frames.release();
+            }
         }
     }
 
@@ -121,7 +347,7 @@ public class AnalysisService {
     }
 
     private Object callEmotionApi(String videoPath) {
-        String url = "http://localhost:5001/analyze_video";
+        String url = emotionUrl + "/analyze_video";
 
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
@@ -130,11 +356,33 @@ public class AnalysisService {
 
         HttpEntity<Map<String, String>> request = new HttpEntity<>(requestBody, headers);
 
-        return restTemplate.postForObject(url, request, Object.class);
+        return emotionRestTemplate.postForObject(url, request, Object.class);
+    }
+
+    /**
+     * 프레임 저장소로 감정 분석을 요청합니다. (analysis.frames.enabled)
+     * 분석 서버는 같은 호스트에서 store_path를 메모리 매핑하고 index_path의 위치로 프레임을 읽으며,
+     * 기존과 같이 원본 프레임 번호(frame_idx)로 결과를 돌려줍니다.
+     */
+    private Object callEmotionFramesApi(SampledFramesDto frames) {
+        String url = emotionUrl + "/analyze_frames";
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+
+        Map<String, Object> requestBody = new LinkedHashMap<>();
+        requestBody.put("store_path", frames.getStoreFile().getAbsolutePath());
+        requestBody.put("index_path", frames.getIndexFile().getAbsolutePath());
+        requestBody.put("source_fps", frames.getSourceFps());
+        requestBody.put("step", frames.getStep());
+
+        HttpEntity<Map<String, Object>> request = new HttpEntity<>(requestBody, headers);
+
+        return emotionRestTemplate.postForObject(url, request, Object.class);
     }
 
     private Object callLLMApi(String question, String answer, String timeline) {
-        String url = "http://localhost:5000/interview_analyze";
+        String url = llmUrl + "/interview_analyze";
 
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
@@ -147,24 +395,130 @@ public class AnalysisService {
 
         HttpEntity<Map<String, String>> request = new HttpEntity<>(requestBody, headers);
 
-        return restTemplate.postForObject(url, request, Object.class);
+        return llmRestTemplate.postForObject(url, request, Object.class);
     }
     
     public AnalysisDto getAnalysisByVideoNo(Long videoNo) {
         return analysisRepository.findByVideoNO(videoNo)
-            .<AnalysisDto>map((AnalysisEntity entity) -> AnalysisDto.builder()
-                .videoNO(entity.getVideo().getVideoNO()) // VideoEntity 내 getVideoNo() 존재 확인 필수
-                .answer(entity.getAnswer())
-                .emotion(entity.getEmotion())
-                .vision(entity.getVision())
-                .build())
+            .<AnalysisDto>map((AnalysisEntity entity) -> {
+                // 시계열 테이블로 옮겨진 값은 기존 응답 형태({time_series|results, average_score})로 복원합니다.
+                AnalysisTimelineEntity timeline = (entity.getVision() == null || entity.getEmotion() == null)
+                        ? analysisTimelineRepository.findById(videoNo).orElse(null)
+                        : null;
+                return AnalysisDto.builder()
+                    .videoNO(entity.getVideo().getVideoNO()) // VideoEntity 내 getVideoNo() 존재 확인 필수
+                    .answer(entity.getAnswer())
+                    .emotion(entity.getEmotion() != null ? entity.getEmotion()
+                            : restoreJson(timeline != null ? timeline.getEmotionSeries() : null, EMOTION_SERIES_KEY, entity.getEmotionScore()))
+                    .vision(entity.getVision() != null ? entity.getVision()
+                            : restoreJson(timeline != null ? timeline.getVisionSeries() : null, VISION_SERIES_KEY, entity.getVisionScore()))
+                    .build();
+            })
             .orElse(null);
     }
+
+    /**
+     * 답변 영상의 시선 또는 감정 시계열을 구간/점 개수에 맞게 줄여서 반환합니다.
+     * 시계열 테이블이 생기기 전에 저장된 분석은 원본 JSON에서 바로 만듭니다.
+     * @param videoNo 영상 PK
+     * @param kind "vision" 또는 "emotion"
+     * @param fromFrame 시작 프레임 (null이면 처음부터)
+     * @param toFrame 끝 프레임 (null이면 끝까지)
+     * @param maxPoints 반환할 최대 점 개수
+     * @return 줄인 시계열, 분석 결과가 없으면 null
+     */
+    public TimelineSeries getTimeline(Long videoNo, String kind, Integer fromFrame, Integer toFrame, int maxPoints) {
+        boolean vision;
+        if ("vision".equals(kind)) {
+            vision = true;
+        } else if ("emotion".equals(kind)) {
+            vision = false;
+        } else {
+            throw new IllegalArgumentException("지원하지 않는 시계열 종류입니다: " + kind);
+        }
+
+        TimelineSeries series = null;
+        AnalysisTimelineEntity timeline = analysisTimelineRepository.findById(videoNo).orElse(null);
+        byte[] encoded = timeline == null ? null : (vision ? timeline.getVisionSeries() : timeline.getEmotionSeries());
+        if (encoded != null) {
+            series = TimelineCodec.decode(encoded);
+        } else {
+            AnalysisEntity analysis = analysisRepository.findByVideoNO(videoNo).orElse(null);
+            String raw = analysis == null ? null : (vision ? analysis.getVision() : analysis.getEmotion());
+            if (raw != null) {
+                try {
+                    series = TimelineSeries.fromJson(
+                            seriesOf(objectMapper.readTree(raw), vision ? VISION_SERIES_KEY : EMOTION_SERIES_KEY),
+                            vision ? VISION_FRAME_KEY : EMOTION_FRAME_KEY);
+                } catch (JsonProcessingException e) {
+                    System.err.println("[AnalysisService] 시계열 JSON 파싱 실패 videoNo=" + videoNo);
+                }
+            }
+        }
+        return series == null ? null : series.downsample(fromFrame, toFrame, maxPoints);
+    }
+
+    // 요약 점수: 컬럼 값을 우선 사용하고, 컬럼이 생기기 전에 저장된 행만 JSON에서 읽습니다.
+    public Double visionScoreOf(AnalysisEntity analysis) {
+        return analysis.getVisionScore() != null ? analysis.getVisionScore() : legacyScore(analysis.getVision(), "average_score");
+    }
+
+    public Double emotionScoreOf(AnalysisEntity analysis) {
+        return analysis.getEmotionScore() != null ? analysis.getEmotionScore() : legacyScore(analysis.getEmotion(), "average_score");
+    }
+
+    public Double answerScoreOf(AnalysisEntity analysis) {
+        return analysis.getAnswerScore() != null ? analysis.getAnswerScore() : legacyScore(analysis.getAnswer(), "score");
+    }
+
+    private Double legacyScore(String json, String field) {
+        if (json == null) {
+            return null;
+        }
+        try {
+            return numberOrNull(objectMapper.readTree(json).get(field));
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    private static Double numberOrNull(JsonNode node) {
+        if (node == null || node.isNull() || node.isMissingNode()) {
+            return null;
+        }
+        if (node.isNumber()) {
+            return node.asDouble();
+        }
+        try {
+            return Double.valueOf(node.asText());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // 시선 분석 서버는 배열만 돌려주는 경우도 있으므로 배열이면 그대로 사용합니다.
+    private static JsonNode seriesOf(JsonNode node, String key) {
+        return node.isArray() ? node : node.get(key);
+    }
+
+    private String restoreJson(byte[] encoded, String seriesKey, Double score) {
+        if (encoded == null) {
+            return null;
+        }
+        ObjectNode node = objectMapper.createObjectNode();
+        node.set(seriesKey, TimelineCodec.decode(encoded).toJson(objectMapper));
+        if (score != null) {
+            if (score == Math.rint(score)) {
+                node.put("average_score", score.longValue());
+            } else {
+                node.put("average_score", score);
+            }
+        }
+        return node.toString();
+    }
     
     public String analyzeVideoSeries(String videoFilePath,  double gazePitch, double gazeYaw, double headPitch, double headYaw) {
-        String url = "http://localhost:5003/analyze_video";  // FastAPI 서버 URL
-
-        RestTemplate restTemplate = new RestTemplate();
+        String url = visionUrl + "/analyze_video";  // FastAPI 서버 URL
 
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.MULTIPART_FORM_DATA);
@@ -178,7 +532,7 @@ public class AnalysisService {
 
         HttpEntity<MultiValueMap<String, Object>> requestEntity = new HttpEntity<>(body, headers);
 
-        ResponseEntity<String> response = restTemplate.postForEntity(url, requestEntity, String.class);
+        ResponseEntity<String> response = visionRestTemplate.postForEntity(url, requestEntity, String.class);
 
         if (response.getStatusCode().is2xxSuccessful()) {
             return response.getBody();  // JSON 배열 문자열 리턴
@@ -187,8 +541,39 @@ public class AnalysisService {
         }
     }
     
+    /**
+     * 프레임 저장소로 시선 분석을 요청합니다. (analysis.frames.enabled)
+     * 영상 파일 대신 저장소 경로를 보내고, 분석 서버는 색인의 원본 프레임 번호로 응답의 frame 번호를 채웁니다.
+     */
+    public String analyzeFrameSeries(SampledFramesDto frames, double gazePitch, double gazeYaw, double headPitch, double headYaw) {
+        String url = visionUrl + "/analyze_frames";
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.MULTIPART_FORM_DATA);
+
+        MultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
+        body.add("store_path", frames.getStoreFile().getAbsolutePath());
+        body.add("index_path", frames.getIndexFile().getAbsolutePath());
+        body.add("source_fps", String.valueOf(frames.getSourceFps()));
+        body.add("step", String.valueOf(frames.getStep()));
+        body.add("calib_gp", String.valueOf(gazePitch));
+        body.add("calib_gy", String.valueOf(gazeYaw));
+        body.add("calib_hp", String.valueOf(headPitch));
+        body.add("calib_hy", String.valueOf(headYaw));
+
+        HttpEntity<MultiValueMap<String, Object>> requestEntity = new HttpEntity<>(body, headers);
+
+        ResponseEntity<String> response = visionRestTemplate.postForEntity(url, requestEntity, String.class);
+
+        if (response.getStatusCode().is2xxSuccessful()) {
+            return response.getBody();
+        } else {
+            throw new RuntimeException("프레임 분석 요청 실패, 상태 코드: " + response.getStatusCode());
+        }
+    }
+
     private Object callOverallApi(String timeline, String emotion, String vision) {
-        String url = "http://localhost:5000/overall";
+        String url = llmUrl + "/overall";
 
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
@@ -210,7 +595,6 @@ public class AnalysisService {
      * @param answers 영상별 분석 결과 answer 리스트
      * @param interviewNo 인터뷰 번호
      */
-    @Transactional
     public String aggregateAnalysis(List<String> answers, Long interviewNo) {
         try {
             // ObjectMapper는 멤버 필드이므로 그대로 사용
@@ -254,7 +638,7 @@ public class AnalysisService {
     }
     
     public String callLlmAggregateApi(String jsonInput, Long interviewNo) throws JsonMappingException, JsonProcessingException {
-        String url = "http://localhost:5000/overoverall";
+        String url = llmUrl + "/overoverall";
 
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
@@ -274,7 +658,7 @@ public class AnalysisService {
     }
 
     public String callLlmCompareApi(String compareJson, Long interviewNo) {
-        String url = "http://localhost:5000/overall_compare";
+        String url = llmUrl + "/overall_compare";
 
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
@@ -12,7 +12,7 @@ import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 import org.springframework.web.client.RestTemplate;
@@ -30,6 +30,7 @@ public class CalibrationService {
     private final InterviewRepository interviewRepository;
     private final RestTemplate restTemplate;
     private final VideoConversionService videoConversionService; // 파일 변환 서비스
+    private final TransactionTemplate transactionTemplate;
 
     // --- 설정값 주입 ---
     @Value("${fastapi.server.url}")
@@ -43,7 +44,6 @@ public class CalibrationService {
      * @throws IOException 파일 처리 또는 API 통신 중 오류 발생 시
      * @throws IllegalArgumentException interviewNo에 해당하는 면접이 없을 경우
      */
-    @Transactional
     public void calibrateAndSave(MultipartFile videoFile, Long interviewNo) throws IOException {
         // 서버에 생성된 임시 파일은 작업이 끝나면 반드시 삭제해야 합니다.
         File convertedMp4File = null;
@@ -51,38 +51,62 @@ public class CalibrationService {
             // 1. [변환] VideoConversionService를 사용해 원본 파일을 MP4로 변환합니다.
             // 이 과정에서 서버에 임시 MP4 파일이 생성됩니다.
             convertedMp4File = videoConversionService.convertToMp4(videoFile);
-
-            // 2. [외부 API 호출] 변환된 MP4 파일을 FastAPI 서버로 전송하고 분석 결과를 받습니다.
-            CalibrationResultDto resultDto = callFastApiForCalibration(convertedMp4File);
-
-
-            // 3. [DB 조회] 결과를 저장하기 위해, 연결할 InterviewEntity를 DB에서 조회합니다.
-            //    만약 ID에 해당하는 면접이 없으면 여기서 IllegalArgumentException이 발생하고,
-            //    컨트롤러가 이를 받아서 404 Not Found 응답을 보냅니다.
-            InterviewEntity interview = interviewRepository.findById(interviewNo)
-                    .orElseThrow(() -> new IllegalArgumentException("요청한 면접 회차를 찾을 수 없습니다. ID: " + interviewNo));
-
-            // 4. [엔티티 생성] 조회한 InterviewEntity와 FastAPI 결과값을 합쳐 CalibrationEntity를 생성합니다.
-            CalibrationEntity calibrationEntity = CalibrationEntity.builder()
-                    .interview(interview) // 객체지향적으로 필드명은 'interview'를 권장합니다.
-                    .gazeYaw(resultDto.getGazeYaw())
-                    .gazePitch(resultDto.getGazePitch())
-                    .headYaw(resultDto.getHeadYaw())
-                    .headPitch(resultDto.getHeadPitch())
-                    .build();
-
-            // 5. [DB 저장] 완성된 엔티티를 데이터베이스에 저장합니다.
-            calibrationRepository.save(calibrationEntity);
-
+            calibrate(convertedMp4File, interviewNo);
         } finally {
-            // 6. [정리] try 블록의 모든 작업이 성공적으로 끝나거나, 혹은 중간에 예외가 발생하더라도
-            //    이 finally 블록은 항상 실행됩니다. 서버에 불필요한 파일이 남지 않도록 임시 파일을 삭제합니다.
+            // 서버에 불필요한 파일이 남지 않도록 임시 파일을 삭제합니다.
             if (convertedMp4File != null && convertedMp4File.exists()) {
                 convertedMp4File.delete();
             }
         }
     }
 
+    /**
+     * 서버에 저장된 동영상 파일(분할 업로드로 조립된 파일 등)로 캘리브레이션을 수행합니다. 원본 파일은 삭제하지 않습니다.
+     * @param sourceFile 저장된 원본 동영상 파일
+     * @param interviewNo 결과와 연결될 면접 회차 ID
+     * @throws IOException 파일 처리 또는 API 통신 중 오류 발생 시
+     * @throws IllegalArgumentException interviewNo에 해당하는 면접이 없을 경우
+     */
+    public void calibrateAndSave(File sourceFile, Long interviewNo) throws IOException {
+        File convertedMp4File = File.createTempFile("converted_", ".mp4");
+        try {
+            videoConversionService.convertToMp4(sourceFile, convertedMp4File);
+            calibrate(convertedMp4File, interviewNo);
+        } finally {
+            if (convertedMp4File.exists()) {
+                convertedMp4File.delete();
+            }
+        }
+    }
+
+    // 변환과 FastAPI 호출은 트랜잭션 밖에서 실행하고, 결과 저장만 짧은 쓰기 트랜잭션으로 처리합니다.
+    private void calibrate(File convertedMp4File, Long interviewNo) {
+        // 2. [외부 API 호출] 변환된 MP4 파일을 FastAPI 서버로 전송하고 분석 결과를 받습니다.
+        CalibrationResultDto resultDto = callFastApiForCalibration(convertedMp4File);
+
+        transactionTemplate.executeWithoutResult(status -> save(resultDto, interviewNo));
+    }
+
+    private void save(CalibrationResultDto resultDto, Long interviewNo) {
+        // 3. [DB 조회] 결과를 저장하기 위해, 연결할 InterviewEntity를 DB에서 조회합니다.
+        //    만약 ID에 해당하는 면접이 없으면 여기서 IllegalArgumentException이 발생하고,
+        //    컨트롤러가 이를 받아서 404 Not Found 응답을 보냅니다.
+        InterviewEntity interview = interviewRepository.findById(interviewNo)
+                .orElseThrow(() -> new IllegalArgumentException("요청한 면접 회차를 찾을 수 없습니다. ID: " + interviewNo));
+
+        // 4. [엔티티 생성] 조회한 InterviewEntity와 FastAPI 결과값을 합쳐 CalibrationEntity를 생성합니다.
+        CalibrationEntity calibrationEntity = CalibrationEntity.builder()
+                .interview(interview) // 객체지향적으로 필드명은 'interview'를 권장합니다.
+                .gazeYaw(resultDto.getGazeYaw())
+                .gazePitch(resultDto.getGazePitch())
+                .headYaw(resultDto.getHeadYaw())
+                .headPitch(resultDto.getHeadPitch())
+                .build();
+
+        // 5. [DB 저장] 완성된 엔티티를 데이터베이스에 저장합니다.
+        calibrationRepository.save(calibrationEntity);
+    }
+
     /**
      * 변환된 MP4 파일을 FastAPI 서버로 전송하는 로직을 담당합니다.
      * @param videoFile 변환이 완료된 MP4 파일 객체
@@ -0,0 +1,289 @@
+package com.example.demo.service;
+
+import com.example.demo.domain.UploadKind;
+import com.example.demo.domain.UploadSessionEntity;
+import com.example.demo.domain.UploadStatus;
+import com.example.demo.repository.InterviewRepository;
+import com.example.demo.repository.UploadSessionRepository;
+
+import jakarta.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * 답변/캘리브레이션 영상을 여러 조각으로 나누어 받는 분할 업로드를 처리합니다.
+ * 조각은 요청 본문 스트림에서 FileChannel로 저장 파일의 offset 위치에 바로 쓰므로 컨테이너가 전체 파일을 버퍼링하지 않으며,
+ * 연결이 끊기면 클라이언트는 받은 위치(receivedBytes)부터 이어서 올립니다.
+ * 모든 조각을 받으면 조립된 파일을 답변 처리 작업 대기열이나 캘리브레이션으로 넘깁니다.
+ * 녹화 중 업로드(streaming)는 전체 크기 없이 시작하며, 답변 영상이면 첫 조각부터 LiveTranscodeService가 변환을 시작합니다.
+ */
+@Service
+public class ChunkedUploadService {
+
+    private final UploadSessionRepository uploadSessionRepository;
+    private final InterviewRepository interviewRepository;
+    private final VideoJobService videoJobService;
+    private final CalibrationService calibrationService;
+    private final LiveTranscodeService liveTranscodeService;
+
+    @Value("${file.storage.path}")
+    private String storagePath;
+
+    // 한 번의 PUT으로 받을 수 있는 최대 조각 크기
+    @Value("${upload.chunk.max-chunk-bytes:16777216}")
+    private long maxChunkBytes;
+
+    // 업로드 한 건의 최대 크기 (기존 multipart 상한과 동일)
+    @Value("${upload.chunk.max-total-bytes:1073741824}")
+    private long maxTotalBytes;
+
+    // 이 시간 동안 조각이 오지 않은 업로드는 파일과 함께 삭제합니다.
+    @Value("${upload.chunk.expire-hours:24}")
+    private long expireHours;
+
+    private Path uploadDirectory;
+
+    public ChunkedUploadService(UploadSessionRepository uploadSessionRepository,
+                                InterviewRepository interviewRepository,
+                                VideoJobService videoJobService,
+                                CalibrationService calibrationService,
+                                LiveTranscodeService liveTranscodeService) {
+        this.uploadSessionRepository = uploadSessionRepository;
+        this.interviewRepository = interviewRepository;
+        this.videoJobService = videoJobService;
+        this.calibrationService = calibrationService;
+        this.liveTranscodeService = liveTranscodeService;
+    }
+
+    @PostConstruct
+    public void init() {
+        // 조립된 답변 영상은 그대로 작업의 원본 파일이 되므로 원본 저장 위치(raw)에 만듭니다.
+        this.uploadDirectory = Paths.get(storagePath, "raw");
+        try {
+            Files.createDirectories(this.uploadDirectory);
+        } catch (IOException e) {
+            throw new RuntimeException("Could not create upload directory: " + uploadDirectory, e);
+        }
+    }
+
+    /**
+     * 분할 업로드를 시작하고 빈 저장 파일을 만듭니다.
+     * @param kind 업로드 용도 (ANSWER, CALIBRATION)
+     * @param interviewNo 면접 회차의 ID
+     * @param questionNo 질문의 ID (ANSWER일 때 필수)
+     * @param totalBytes 전체 파일 크기 (녹화 중 업로드면 무시)
+     * @param fileName 원본 파일 이름 (확장자만 사용)
+     * @param streaming 녹화 중에 조각을 보내는 업로드인지 여부
+     * @return 생성된 업로드
+     * @throws IllegalArgumentException 면접 회차나 질문이 없거나 크기가 허용 범위를 벗어난 경우
+     */
+    public UploadSessionEntity init(UploadKind kind, Long interviewNo, Long questionNo, Long totalBytes, String fileName,
+                                    boolean streaming) throws IOException {
+        if (kind == null || interviewNo == null) {
+            throw new IllegalArgumentException("업로드 용도와 면접 회차 ID는 필수입니다.");
+        }
+        if (streaming) {
+            totalBytes = maxTotalBytes; // 완료 시 실제 받은 크기로 확정합니다.
+        }
+        if (totalBytes == null || totalBytes <= 0 || totalBytes > maxTotalBytes) {
+            throw new IllegalArgumentException("업로드 크기가 허용 범위를 벗어났습니다. (최대 " + maxTotalBytes + " bytes)");
+        }
+        if (kind == UploadKind.ANSWER) {
+            if (questionNo == null) {
+                throw new IllegalArgumentException("답변 영상 업로드에는 질문 ID가 필요합니다.");
+            }
+            videoJobService.validateTarget(interviewNo, questionNo);
+        } else if (!interviewRepository.existsById(interviewNo)) {
+            throw new IllegalArgumentException("요청한 면접 회차를 찾을 수 없습니다. ID: " + interviewNo);
+        }
+
+        String uploadId = UUID.randomUUID().toString();
+        Path filePath = uploadDirectory.resolve(uploadId + VideoJobService.extensionOf(fileName));
+        Files.createFile(filePath);
+
+        return uploadSessionRepository.save(UploadSessionEntity.builder()
+                .uploadId(uploadId)
+                .kind(kind)
+                .interviewNO(interviewNo)
+                .questionNO(kind == UploadKind.ANSWER ? questionNo : null)
+                .filePath(filePath.toString())
+                .totalBytes(totalBytes)
+                .receivedBytes(0L)
+                .streaming(streaming)
+                .status(UploadStatus.UPLOADING)
+                .build());
+    }
+
+    public UploadSessionEntity getUpload(String uploadId) {
+        return uploadSessionRepository.findById(uploadId)
+                .orElseThrow(() -> new IllegalArgumentException("업로드를 찾을 수 없습니다. ID: " + uploadId));
+    }
+
+    /**
+     * 조각 하나를 저장 파일의 offset 위치에 씁니다.
+     * offset은 지금까지 받은 바이트 수와 같아야 하며, 다르면 현재 위치를 담아 IllegalStateException을 던집니다.
+     * 디스크에 기록(force)한 뒤에 받은 위치를 전진시키므로, 서버가 중간에 종료되어도 받은 위치 이전의 데이터는 보존됩니다.
+     * @param uploadId 업로드 ID
+     * @param offset 조각의 시작 위치
+     * @param body 조각 내용 (요청 본문 스트림)
+     * @return 조각을 반영한 뒤의 받은 위치 (다음 조각의 offset)
+     * @throws IllegalArgumentException 업로드가 없거나 조각 크기가 허용 범위를 벗어난 경우
+     * @throws IllegalStateException offset이 받은 위치와 다르거나 이미 완료된 업로드인 경우
+     */
+    public long appendChunk(String uploadId, long offset, InputStream body) throws IOException {
+        UploadSessionEntity upload = getUpload(uploadId);
+        if (upload.getStatus() != UploadStatus.UPLOADING) {
+            throw new IllegalStateException("이미 완료된 업로드입니다. offset=" + upload.getReceivedBytes());
+        }
+        if (offset != upload.getReceivedBytes()) {
+            throw new IllegalStateException("offset이 맞지 않습니다. offset=" + upload.getReceivedBytes());
+        }
+
+        long limit = Math.min(maxChunkBytes, upload.getTotalBytes() - offset);
+        long written = 0;
+        try (FileChannel channel = FileChannel.open(Paths.get(upload.getFilePath()), StandardOpenOption.WRITE);
+             ReadableByteChannel source = Channels.newChannel(body)) {
+            // 요청 본문을 힙에 모으지 않고 파일 채널로 바로 옮깁니다.
+            while (written < limit) {
+                long transferred = channel.transferFrom(source, offset + written, limit - written);
+                if (transferred <= 0) {
+                    break;
+                }
+                written += transferred;
+            }
+            if (written == limit && body.read() != -1) {
+                throw new IllegalArgumentException("조각 크기가 허용 범위를 벗어났습니다. (최대 " + limit + " bytes)");
+            }
+            channel.force(false);
+        }
+
+        long next = offset + written;
+        if (written > 0 && uploadSessionRepository.advance(uploadId, offset, next) != 1) {
+            // 같은 위치의 조각이 동시에 반영된 경우: 이미 반영된 쪽의 위치를 알려줍니다.
+            throw new IllegalStateException("offset이 맞지 않습니다. offset=" + getUpload(uploadId).getReceivedBytes());
+        }
+
+        if (isLiveAnswer(upload) && written > 0) {
+            if (offset == 0) {
+                liveTranscodeService.start(upload.getFilePath());
+            }
+            liveTranscodeService.onAppended(upload.getFilePath(), next);
+        }
+        return next;
+    }
+
+    /**
+     * 모든 조각을 받은 업로드를 완료하고 용도에 맞는 처리로 넘깁니다.
+     * ANSWER는 처리 작업을 등록하고 바로 반환하며, CALIBRATION은 캘리브레이션이 끝날 때까지 기다립니다.
+     * 넘기는 동안은 PROCESSING 상태이고, 작업이 등록되었거나 캘리브레이션이 저장된 뒤에만 COMPLETED가 됩니다.
+     * 넘기다 실패하면 UPLOADING으로 되돌리고 파일을 남겨 두므로 클라이언트는 완료 요청을 다시 보낼 수 있습니다.
+     * @param uploadId 업로드 ID
+     * @return 완료된 업로드 (ANSWER면 jobNO에 등록된 작업 번호)
+     * @throws IllegalStateException 아직 받지 못한 조각이 있거나 다른 완료 요청이 처리 중인 경우
+     */
+    public UploadSessionEntity complete(String uploadId) throws IOException {
+        UploadSessionEntity upload = getUpload(uploadId);
+        if (upload.getStatus() == UploadStatus.COMPLETED) {
+            return upload; // 완료 응답을 받지 못해 다시 요청한 경우
+        }
+        if (Boolean.TRUE.equals(upload.getStreaming())) {
+            uploadSessionRepository.fixStreamingSize(uploadId);
+        }
+        if (uploadSessionRepository.updateStatusIfComplete(uploadId, UploadStatus.UPLOADING, UploadStatus.PROCESSING) != 1) {
+            upload = getUpload(uploadId);
+            if (upload.getStatus() == UploadStatus.COMPLETED) {
+                return upload;
+            }
+            if (upload.getStatus() == UploadStatus.PROCESSING) {
+                throw new IllegalStateException("업로드를 처리 중입니다. 잠시 후 다시 확인해 주세요.");
+            }
+            throw new IllegalStateException("아직 받지 못한 조각이 있습니다. offset=" + upload.getReceivedBytes());
+        }
+
+        File file = new File(upload.getFilePath());
+        Long jobNo = null;
+        try {
+            if (upload.getKind() == UploadKind.ANSWER) {
+                if (isLiveAnswer(upload)) {
+                    // 변환기는 받은 데이터까지 읽고 끝나며, 결과는 작업의 TRANSCODING 단계에서 가져갑니다.
+                    liveTranscodeService.finish(upload.getFilePath(), upload.getReceivedBytes());
+                }
+                // 원본 파일은 작업이 끝난 뒤 VideoJobService가 삭제합니다.
+                jobNo = videoJobService.enqueueFile(upload.getInterviewNO(), upload.getQuestionNO(), file).getJobNO();
+            } else {
+                calibrationService.calibrateAndSave(file, upload.getInterviewNO());
+            }
+        } catch (IOException | RuntimeException e) {
+            uploadSessionRepository.updateStatusIf(uploadId, UploadStatus.PROCESSING, UploadStatus.UPLOADING, null);
+            throw e;
+        }
+
+        uploadSessionRepository.updateStatusIf(uploadId, UploadStatus.PROCESSING, UploadStatus.COMPLETED, jobNo);
+        if (upload.getKind() == UploadKind.CALIBRATION && !file.delete()) {
+            System.out.println("Warning: 업로드 파일 삭제에 실패했습니다: " + file.getPath());
+        }
+        return getUpload(uploadId);
+    }
+
+    // 서버가 처리 단계 도중 종료되었다면 PROCESSING으로 남은 업로드를 다시 완료 요청할 수 있게 되돌립니다.
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverUploads() {
+        int recovered = uploadSessionRepository.updateAllStatus(UploadStatus.PROCESSING, UploadStatus.UPLOADING);
+        if (recovered > 0) {
+            System.out.println("[ChunkedUploadService] 처리 중이던 업로드 " + recovered + "건을 되돌렸습니다.");
+        }
+    }
+
+    /**
+     * 재촬영 등으로 필요 없어진 업로드를 취소하고 파일을 삭제합니다. 이미 완료된 업로드는 취소할 수 없습니다.
+     * @param uploadId 업로드 ID
+     * @throws IllegalStateException 이미 완료된 업로드인 경우
+     */
+    public void cancel(String uploadId) throws IOException {
+        UploadSessionEntity upload = getUpload(uploadId);
+        if (upload.getStatus() != UploadStatus.UPLOADING) {
+            throw new IllegalStateException("이미 완료된 업로드입니다.");
+        }
+        discard(upload);
+    }
+
+    private void discard(UploadSessionEntity upload) throws IOException {
+        liveTranscodeService.cancel(upload.getFilePath());
+        Files.deleteIfExists(Paths.get(upload.getFilePath()));
+        uploadSessionRepository.delete(upload);
+    }
+
+    private static boolean isLiveAnswer(UploadSessionEntity upload) {
+        return upload.getKind() == UploadKind.ANSWER && Boolean.TRUE.equals(upload.getStreaming());
+    }
+
+    // 중단된 채 방치된 업로드의 파일과 기록을 정리합니다.
+    @Scheduled(fixedDelayString = "${upload.chunk.cleanup-interval-ms:3600000}")
+    public void cleanupExpired() {
+        LocalDateTime deadline = LocalDateTime.now().minusHours(expireHours);
+        for (UploadSessionEntity upload : uploadSessionRepository.findByStatusAndUpdatedAtBefore(UploadStatus.UPLOADING, deadline)) {
+            try {
+                discard(upload);
+            } catch (IOException e) {
+                System.out.println("Warning: 만료된 업로드 파일 삭제에 실패했습니다: " + upload.getFilePath());
+            }
+        }
+    }
+}
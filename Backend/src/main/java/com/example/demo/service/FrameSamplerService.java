@@ -0,0 +1,300 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.SampledFramesDto;
+import com.example.demo.util.MediaFileUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import jakarta.annotation.PostConstruct;
+
+import org.bytedeco.javacv.FFmpegFrameGrabber;
+import org.bytedeco.javacv.Frame;
+import org.bytedeco.javacv.Java2DFrameConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * 감정/시선 분석 서버가 함께 읽는 분석용 프레임 저장소를 만듭니다.
+ * 영상을 한 번 디코딩해 설정한 fps와 가로 크기로 줄인 JPEG를 frames.bin 한 파일에 이어 쓰고,
+ * frames.json에 원본 프레임 번호별 위치(offset)와 길이를 기록합니다.
+ * 두 분석 서버는 같은 호스트에서 frames.bin을 메모리 매핑해 읽으므로 프레임을 HTTP로 주고받지 않습니다.
+ * 답변 분석 하나가 저장소를 쓸 분석 수만큼 reserve로 참조를 한 번에 잡고, 각 분석이 끝날 때 release하며,
+ * 마지막 release에서 삭제합니다. 먼저 끝난 분석이 저장소를 지워 늦은 분석이 다시 디코딩하는 일이 없습니다.
+ */
+@Service
+public class FrameSamplerService {
+
+    static final String STORE = "frames.bin";
+    static final String INDEX = "frames.json";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    // 디렉터리 경로 → 저장소 (추출 결과와 사용 중인 분석 수)
+    private final Map<String, StoreEntry> stores = new ConcurrentHashMap<>();
+
+    private static final class StoreEntry {
+        private final CompletableFuture<SampledFramesDto> ready = new CompletableFuture<>();
+        private final AtomicBoolean started = new AtomicBoolean();
+        private int references; // stores의 compute 안에서만 변경
+    }
+
+    @Value("${analysis.frames.enabled:false}")
+    private boolean enabled;
+
+    // 분석 서버가 보는 초당 프레임 수 (시선 분석은 기존에 30fps 영상의 10프레임마다 분석)
+    @Value("${analysis.frames.fps:3}")
+    private double fps;
+
+    @Value("${analysis.frames.max-width:640}")
+    private int maxWidth;
+
+    @Value("${analysis.frames.jpeg-quality:0.85}")
+    private float jpegQuality;
+
+    @Value("${analysis.frames.path:${file.storage.path}/frames}")
+    private String framesPath;
+
+    /**
+     * 저장소는 마지막 release에서 삭제되므로, 시작 시 남아 있는 것은 이전 실행이 중단되며 남긴 것입니다.
+     * 경로는 설정으로 바꿀 수 있으므로 설정한 디렉터리 자체는 지우지 않고,
+     * 그 아래에서 frames.bin 또는 frames.json이 있는 (저장소로 확인되는) 디렉터리만 삭제합니다.
+     */
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            return;
+        }
+        Path root = Paths.get(framesPath);
+        if (!Files.isDirectory(root)) {
+            return;
+        }
+        try (Stream<Path> children = Files.list(root)) {
+            children.filter(FrameSamplerService::isStore).forEach(MediaFileUtil::deleteRecursively);
+        } catch (IOException e) {
+            System.out.println("Warning: 분석용 프레임 디렉터리를 읽지 못했습니다: " + root);
+        }
+    }
+
+    private static boolean isStore(Path directory) {
+        return Files.isDirectory(directory, LinkOption.NOFOLLOW_LINKS)
+                && (Files.exists(directory.resolve(STORE)) || Files.exists(directory.resolve(INDEX)));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 분석 결과 캐시 키에 넣을 추출 설정. 프레임을 고르는 방식이 바뀌면 결과도 달라지므로 캐시를 나눕니다.
+     */
+    public String signature() {
+        return enabled ? "frames:" + fps + ":" + maxWidth : "video";
+    }
+
+    /**
+     * 영상의 프레임 저장소를 사용할 분석 수만큼 한 번에 참조를 잡습니다. 이 시점에는 디코딩하지 않고,
+     * 처음 get을 호출한 분석이 추출하며 나머지는 그 결과를 기다렸다가 함께 씁니다.
+     * 각 분석은 저장소를 썼는지와 관계없이(캐시 적중 등) 끝날 때 release를 한 번씩 호출해야 합니다.
+     * @param videoPath 분석 대상 MP4 파일 경로
+     * @param key 저장소 이름 (원본 영상의 내용 해시 등, 같은 영상이면 같은 값)
+     * @param consumers 저장소를 쓸 수 있는 분석 수
+     */
+    public Reservation reserve(String videoPath, String key, int consumers) {
+        Path directory = Paths.get(framesPath, key);
+        String id = directory.toString();
+        StoreEntry entry = stores.compute(id, (k, current) -> {
+            if (current == null) {
+                current = new StoreEntry();
+            }
+            current.references += consumers;
+            return current;
+        });
+        return new Reservation(id, entry, new File(videoPath), directory, consumers);
+    }
+
+    /**
+     * reserve로 잡은 참조. 참조 수를 넘겨 release해도 저장소에는 잡은 수만큼만 반영됩니다.
+     */
+    public final class Reservation {
+        private final String id;
+        private final StoreEntry entry;
+        private final File videoFile;
+        private final Path directory;
+        private final AtomicInteger remaining;
+
+        private Reservation(String id, StoreEntry entry, File videoFile, Path directory, int consumers) {
+            this.id = id;
+            this.entry = entry;
+            this.videoFile = videoFile;
+            this.directory = directory;
+            this.remaining = new AtomicInteger(consumers);
+        }
+
+        /**
+         * 저장소를 돌려줍니다. 아직 없으면 만들고, 다른 분석이 만드는 중이면 끝날 때까지 기다립니다.
+         * @throws UncheckedIOException 프레임 추출에 실패한 경우
+         */
+        public SampledFramesDto get() {
+            if (entry.started.compareAndSet(false, true)) {
+                try {
+                    entry.ready.complete(extract(videoFile, directory));
+                } catch (IOException e) {
+                    entry.ready.completeExceptionally(new UncheckedIOException("분석용 프레임 추출에 실패했습니다: " + videoFile, e));
+                } catch (RuntimeException e) {
+                    entry.ready.completeExceptionally(e);
+                }
+            }
+            try {
+                return entry.ready.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+
+        /**
+         * 참조 하나를 돌려줍니다. 사용 중인 분석이 더 없으면 디렉터리를 삭제합니다.
+         * 실패한 추출도 마지막 release에서 지워지므로 다음 분석은 처음부터 다시 추출합니다.
+         */
+        public void release() {
+            if (remaining.getAndDecrement() > 0) {
+                FrameSamplerService.this.release(id);
+            }
+        }
+
+        /**
+         * 아직 돌려주지 않은 참조를 모두 돌려줍니다. 앞선 분석이 실패해 남은 분석이 실행되지 않는 경우에 씁니다.
+         */
+        public void releaseAll() {
+            while (remaining.get() > 0) {
+                release();
+            }
+        }
+    }
+
+    private void release(String id) {
+        // 삭제도 compute 안에서 하므로 삭제 중인 저장소를 다른 분석이 reserve하지 않습니다.
+        stores.computeIfPresent(id, (k, current) -> {
+            if (--current.references > 0) {
+                return current;
+            }
+            MediaFileUtil.deleteRecursively(Paths.get(id));
+            return null;
+        });
+    }
+
+    private SampledFramesDto extract(File videoFile, Path directory) throws IOException {
+        MediaFileUtil.deleteRecursively(directory);
+        Files.createDirectories(directory);
+        Path store = directory.resolve(STORE);
+
+        long startTime = System.currentTimeMillis();
+        // 원본 프레임 번호, 위치, 길이
+        List<long[]> slots = new ArrayList<>();
+        double sourceFps;
+        int step;
+        try (FFmpegFrameGrabber grabber = new FFmpegFrameGrabber(videoFile);
+             Java2DFrameConverter converter = new Java2DFrameConverter();
+             FileChannel channel = FileChannel.open(store, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                     StandardOpenOption.TRUNCATE_EXISTING)) {
+            grabber.start();
+            sourceFps = grabber.getFrameRate() > 0 ? grabber.getFrameRate() : 30;
+            step = Math.max(1, (int) Math.round(sourceFps / fps));
+
+            // 음성은 디코딩하지 않고, 고른 프레임만 이미지로 변환합니다.
+            int index = 0;
+            Frame frame;
+            while ((frame = grabber.grabImage()) != null) {
+                if (index % step == 0) {
+                    BufferedImage image = converter.convert(frame);
+                    if (image != null) {
+                        byte[] jpeg = MediaFileUtil.encodeJpeg(scale(image), jpegQuality);
+                        long offset = channel.position();
+                        ByteBuffer buffer = ByteBuffer.wrap(jpeg);
+                        while (buffer.hasRemaining()) {
+                            channel.write(buffer);
+                        }
+                        slots.add(new long[]{index, offset, jpeg.length});
+                    }
+                }
+                index++;
+            }
+        } catch (IOException | RuntimeException e) {
+            MediaFileUtil.deleteRecursively(directory);
+            throw e;
+        }
+        if (slots.isEmpty()) {
+            MediaFileUtil.deleteRecursively(directory);
+            throw new IOException("분석할 영상 프레임이 없습니다: " + videoFile.getName());
+        }
+
+        writeIndex(directory, sourceFps, step, slots);
+        System.out.println("[FrameSamplerService] " + videoFile.getName() + ": " + slots.size() + " frames, "
+                + Files.size(store) + " bytes (step=" + step + ", " + (System.currentTimeMillis() - startTime) + "ms)");
+        return new SampledFramesDto(directory.toFile(), store.toFile(), directory.resolve(INDEX).toFile(),
+                sourceFps, step, slots.size());
+    }
+
+    /**
+     * frames.json 형식:
+     * {"store": "frames.bin", "source_fps": 30.0, "step": 10, "frames": [[원본 프레임 번호, 위치, 길이], ...]}
+     */
+    private void writeIndex(Path directory, double sourceFps, int step, List<long[]> slots) throws IOException {
+        ObjectNode index = objectMapper.createObjectNode();
+        index.put("store", STORE);
+        index.put("source_fps", sourceFps);
+        index.put("step", step);
+        ArrayNode frames = index.putArray("frames");
+        for (long[] slot : slots) {
+            frames.addArray().add(slot[0]).add(slot[1]).add(slot[2]);
+        }
+        Path temp = directory.resolve(INDEX + ".tmp");
+        Files.writeString(temp, index.toString(), StandardCharsets.UTF_8);
+        try {
+            Files.move(temp, directory.resolve(INDEX), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, directory.resolve(INDEX), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private BufferedImage scale(BufferedImage image) {
+        int width = Math.min(maxWidth, image.getWidth());
+        int height = Math.max(1, Math.round((float) image.getHeight() * width / image.getWidth()));
+        // 변환기가 돌려준 이미지는 다음 프레임에서 다시 쓰이므로 크기가 같아도 복사합니다.
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_3BYTE_BGR);
+        Graphics2D g = scaled.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.drawImage(image, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+        return scaled;
+    }
+}
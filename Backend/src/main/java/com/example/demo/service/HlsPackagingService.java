@@ -0,0 +1,210 @@
+package com.example.demo.service;
+
+import jakarta.annotation.PostConstruct;
+
+import org.bytedeco.javacv.FFmpegFrameGrabber;
+import org.bytedeco.javacv.FFmpegFrameRecorder;
+import org.bytedeco.javacv.Frame;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.example.demo.util.MediaFileUtil;
+import static org.bytedeco.ffmpeg.global.avcodec.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 변환된 MP4를 여러 화질의 HLS(고정 길이 세그먼트)로 패키징합니다. (선택 단계, video.hls.enabled)
+ * 원본을 한 번만 디코딩하고 같은 프레임을 화질별 recorder에 넘기므로 화질 수만큼 인코딩만 늘어납니다.
+ * 결과는 MP4 옆의 {이름}_hls/ 디렉터리에 master.m3u8과 {높이}p/index.m3u8, seg_#####.ts로 저장하며,
+ * 끝까지 만든 뒤에 디렉터리를 옮기므로 재생 중인 쪽이 만들다 만 패키지를 보지 않습니다.
+ */
+@Service
+public class HlsPackagingService {
+
+    public static final String MASTER_PLAYLIST = "master.m3u8";
+    public static final String MEDIA_PLAYLIST = "index.m3u8";
+
+    /**
+     * 화질 하나
+     * @param width 가로 크기 (짝수)
+     * @param height 세로 크기
+     * @param videoBitrate 영상 비트레이트 (bps)
+     */
+    public record Rendition(int width, int height, int videoBitrate) {
+
+        public String name() {
+            return height + "p";
+        }
+    }
+
+    @Value("${video.hls.enabled:false}")
+    private boolean enabled;
+
+    // 높이:비트레이트 목록 (원본보다 높은 화질은 만들지 않습니다)
+    @Value("${video.hls.renditions:360:800000,540:1400000,720:2800000}")
+    private String renditionsSpec;
+
+    @Value("${video.hls.segment-seconds:4}")
+    private int segmentSeconds;
+
+    @Value("${video.hls.audio-bitrate:128000}")
+    private int audioBitrate;
+
+    // 높이, 비트레이트 쌍 (높이 오름차순)
+    private final List<int[]> configured = new ArrayList<>();
+
+    @PostConstruct
+    public void init() {
+        for (String item : renditionsSpec.split(",")) {
+            String[] parts = item.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalStateException("video.hls.renditions 형식이 잘못되었습니다 (높이:비트레이트): " + item);
+            }
+            configured.add(new int[]{Integer.parseInt(parts[0].trim()), Integer.parseInt(parts[1].trim())});
+        }
+        configured.sort(Comparator.comparingInt(pair -> pair[0]));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * MP4 파일에 대응하는 HLS 디렉터리 (같은 디렉터리, {이름}_hls)
+     */
+    public static File hlsDirOf(File mp4File) {
+        return new File(mp4File.getParentFile(), mp4File.getName().replace(".mp4", "") + "_hls");
+    }
+
+    /**
+     * 패키징이 끝났는지 확인합니다. (작업 재시도 시 PACKAGING 단계를 건너뛰기 위해 사용)
+     */
+    public static boolean isPackaged(File mp4File) {
+        return new File(hlsDirOf(mp4File), MASTER_PLAYLIST).isFile();
+    }
+
+    /**
+     * MP4 파일을 HLS로 패키징합니다.
+     * @param mp4File 변환된 MP4 파일
+     * @throws IOException 디코딩/인코딩 또는 파일 저장 중 오류 발생 시 (만들던 파일은 삭제합니다)
+     */
+    public void packageVideo(File mp4File) throws IOException {
+        File outputDir = hlsDirOf(mp4File);
+        File workDir = new File(outputDir.getPath() + ".tmp");
+        MediaFileUtil.deleteRecursively(workDir.toPath());
+
+        long startTime = System.currentTimeMillis();
+        List<Rendition> renditions;
+        try (FFmpegFrameGrabber grabber = new FFmpegFrameGrabber(mp4File)) {
+            grabber.start();
+            renditions = selectRenditions(grabber.getImageWidth(), grabber.getImageHeight());
+            encode(grabber, renditions, workDir);
+            writeMasterPlaylist(workDir, renditions);
+        } catch (IOException | RuntimeException e) {
+            MediaFileUtil.deleteRecursively(workDir.toPath());
+            throw e;
+        }
+
+        MediaFileUtil.deleteRecursively(outputDir.toPath());
+        try {
+            Files.move(workDir.toPath(), outputDir.toPath(), StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(workDir.toPath(), outputDir.toPath());
+        }
+        System.out.println("[HlsPackagingService] HLS 패키징 완료 " + renditions.stream().map(Rendition::name).toList()
+                + " (" + (System.currentTimeMillis() - startTime) + "ms): " + outputDir.getName());
+    }
+
+    // 원본 높이 이하의 설정 화질만 사용하고, 원본이 가장 낮은 설정보다 작으면 원본 크기 하나만 만듭니다.
+    private List<Rendition> selectRenditions(int sourceWidth, int sourceHeight) throws IOException {
+        if (sourceWidth <= 0 || sourceHeight <= 0) {
+            throw new IOException("영상 크기를 알 수 없습니다.");
+        }
+        List<Rendition> renditions = new ArrayList<>();
+        for (int[] pair : configured) {
+            if (pair[0] <= sourceHeight) {
+                renditions.add(new Rendition(evenWidth(sourceWidth, sourceHeight, pair[0]), pair[0], pair[1]));
+            }
+        }
+        if (renditions.isEmpty()) {
+            int height = Math.max(2, sourceHeight - sourceHeight % 2);
+            renditions.add(new Rendition(evenWidth(sourceWidth, sourceHeight, height), height, configured.get(0)[1]));
+        }
+        return renditions;
+    }
+
+    private void encode(FFmpegFrameGrabber grabber, List<Rendition> renditions, File workDir) throws IOException {
+        double frameRate = grabber.getFrameRate() > 0 ? grabber.getFrameRate() : 30;
+        List<FFmpegFrameRecorder> recorders = new ArrayList<>();
+        try {
+            for (Rendition rendition : renditions) {
+                File dir = new File(workDir, rendition.name());
+                Files.createDirectories(dir.toPath());
+                FFmpegFrameRecorder recorder = new FFmpegFrameRecorder(new File(dir, MEDIA_PLAYLIST),
+                        rendition.width(), rendition.height(), grabber.getAudioChannels());
+                recorder.setFormat("hls");
+                recorder.setVideoCodec(AV_CODEC_ID_H264);
+                recorder.setAudioCodec(AV_CODEC_ID_AAC);
+                recorder.setFrameRate(frameRate);
+                recorder.setSampleRate(grabber.getSampleRate());
+                recorder.setVideoBitrate(rendition.videoBitrate());
+                recorder.setAudioBitrate(audioBitrate);
+                // 세그먼트 경계마다 키프레임이 오도록 GOP를 세그먼트 길이에 맞추고 장면 전환 키프레임을 끕니다.
+                recorder.setGopSize((int) Math.round(frameRate * segmentSeconds));
+                recorder.setVideoOption("sc_threshold", "0");
+                recorder.setOption("hls_time", String.valueOf(segmentSeconds));
+                recorder.setOption("hls_list_size", "0");
+                recorder.setOption("hls_playlist_type", "vod");
+                recorder.setOption("hls_segment_filename", new File(dir, "seg_%05d.ts").getPath());
+                recorders.add(recorder);
+                recorder.start();
+            }
+
+            Frame frame;
+            while ((frame = grabber.grabFrame()) != null) {
+                for (FFmpegFrameRecorder recorder : recorders) {
+                    if (frame.timestamp >= 0) {
+                        recorder.setTimestamp(frame.timestamp);
+                    }
+                    // 같은 음성 샘플을 모든 화질에 쓰므로 기록할 때마다 버퍼 위치를 되돌립니다.
+                    MediaFileUtil.recordShared(recorder, frame);
+                }
+            }
+            for (FFmpegFrameRecorder recorder : recorders) {
+                recorder.stop();
+            }
+        } finally {
+            for (FFmpegFrameRecorder recorder : recorders) {
+                try {
+                    recorder.close();
+                } catch (Exception e) {
+                    System.out.println("Warning: HLS recorder 종료 중 오류: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void writeMasterPlaylist(File workDir, List<Rendition> renditions) throws IOException {
+        StringBuilder playlist = new StringBuilder("#EXTM3U\n#EXT-X-VERSION:3\n");
+        for (Rendition rendition : renditions) {
+            playlist.append("#EXT-X-STREAM-INF:BANDWIDTH=").append(rendition.videoBitrate() + audioBitrate)
+                    .append(",RESOLUTION=").append(rendition.width()).append('x').append(rendition.height()).append('\n')
+                    .append(rendition.name()).append('/').append(MEDIA_PLAYLIST).append('\n');
+        }
+        Files.writeString(new File(workDir, MASTER_PLAYLIST).toPath(), playlist, StandardCharsets.UTF_8);
+    }
+
+    // H.264(yuv420p)는 가로/세로가 짝수여야 합니다.
+    private static int evenWidth(int sourceWidth, int sourceHeight, int height) {
+        return Math.max(2, (int) Math.round((double) sourceWidth * height / sourceHeight / 2) * 2);
+    }
+}
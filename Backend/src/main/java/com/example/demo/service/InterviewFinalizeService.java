@@ -0,0 +1,135 @@
+package com.example.demo.service;
+
+import com.example.demo.domain.InterviewEntity;
+import com.example.demo.domain.InterviewStatus;
+import com.example.demo.domain.VideoJobStatus;
+import com.example.demo.repository.InterviewRepository;
+import com.example.demo.repository.VideoJobRepository;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * 면접 종료 처리를 담당합니다.
+ * 종료 요청 후 전달된 답변 수만큼 답변 작업이 끝나면 (DONE 또는 FAILED) 종합 총평과 이전 면접 비교 LLM 호출을 한 번만 실행합니다.
+ * 답변 작업이 끝날 때마다 남은 작업 수를 확인하므로 DB에 기록된 카운트다운 래치처럼 동작하며, 서버가 재시작되어도 이어집니다.
+ */
+@Service
+public class InterviewFinalizeService {
+
+    private static final List<VideoJobStatus> PENDING_JOB_STATUSES = List.of(VideoJobStatus.QUEUED, VideoJobStatus.RUNNING);
+    private static final List<VideoJobStatus> FINISHED_JOB_STATUSES = List.of(VideoJobStatus.DONE, VideoJobStatus.FAILED);
+
+    private final InterviewRepository interviewRepository;
+    private final VideoJobRepository videoJobRepository;
+    private final VideoProcessingService videoProcessingService;
+    private final ExecutorService analysisExecutor;
+
+    // 업로드가 유실되어 답변 수가 채워지지 않더라도 이 시간이 지나면 끝난 답변만으로 총평을 생성합니다.
+    @Value("${interview.finalize.timeout-minutes:30}")
+    private long timeoutMinutes;
+
+    public InterviewFinalizeService(InterviewRepository interviewRepository,
+                                    VideoJobRepository videoJobRepository,
+                                    VideoProcessingService videoProcessingService,
+                                    @Qualifier("analysisExecutor") ExecutorService analysisExecutor) {
+        this.interviewRepository = interviewRepository;
+        this.videoJobRepository = videoJobRepository;
+        this.videoProcessingService = videoProcessingService;
+        this.analysisExecutor = analysisExecutor;
+    }
+
+    /**
+     * 면접 종료를 요청합니다. 이미 종료 요청된 면접이면 상태만 반환합니다.
+     * @param interviewNo 면접 회차의 ID
+     * @param answerCount 사용자가 제출한 답변 수 (null이면 진행 중인 답변 작업이 없을 때 바로 총평 생성)
+     * @return 요청 후 면접 상태
+     * @throws IllegalArgumentException 면접 회차가 존재하지 않을 경우
+     */
+    public InterviewStatus requestFinalize(Long interviewNo, Integer answerCount) {
+        if (!interviewRepository.existsById(interviewNo)) {
+            throw new IllegalArgumentException("요청한 면접 회차를 찾을 수 없습니다. ID: " + interviewNo);
+        }
+        if (interviewRepository.requestFinalize(interviewNo, answerCount, LocalDateTime.now()) == 1) {
+            System.out.println("[InterviewFinalizeService] 면접 종료 요청 interviewNo=" + interviewNo + ", answers=" + answerCount);
+            tryFinalize(interviewNo, false);
+        }
+        return getStatus(interviewNo);
+    }
+
+    public InterviewStatus getStatus(Long interviewNo) {
+        return interviewRepository.findById(interviewNo)
+                .map(InterviewEntity::getStatus)
+                .orElseThrow(() -> new IllegalArgumentException("요청한 면접 회차를 찾을 수 없습니다. ID: " + interviewNo));
+    }
+
+    /**
+     * 답변 작업 하나가 끝났을 때 (성공/실패 모두) 호출됩니다.
+     */
+    public void onAnswerJobFinished(Long interviewNo) {
+        tryFinalize(interviewNo, false);
+    }
+
+    // 서버가 총평 생성 도중 종료되었다면 다시 대기 상태로 돌려 처음부터 생성합니다.
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverFinalizing() {
+        int recovered = interviewRepository.updateAllStatus(InterviewStatus.SUMMARIZING, InterviewStatus.FINALIZE_REQUESTED);
+        if (recovered > 0) {
+            System.out.println("[InterviewFinalizeService] 중단된 총평 생성 " + recovered + "건을 다시 대기시켰습니다.");
+        }
+        poll();
+    }
+
+    // 종료 요청 후 제한 시간이 지난 면접이나 이벤트를 놓친 면접을 주기적으로 확인합니다.
+    @Scheduled(fixedDelayString = "${interview.finalize.poll-interval-ms:60000}")
+    public void poll() {
+        LocalDateTime deadline = LocalDateTime.now().minusMinutes(timeoutMinutes);
+        for (InterviewEntity interview : interviewRepository.findByStatus(InterviewStatus.FINALIZE_REQUESTED)) {
+            boolean timedOut = interview.getFinalizeRequestedAt() != null && interview.getFinalizeRequestedAt().isBefore(deadline);
+            tryFinalize(interview.getInterviewNO(), timedOut);
+        }
+    }
+
+    private void tryFinalize(Long interviewNo, boolean timedOut) {
+        InterviewEntity interview = interviewRepository.findById(interviewNo).orElse(null);
+        if (interview == null || interview.getStatus() != InterviewStatus.FINALIZE_REQUESTED) {
+            return;
+        }
+        if (videoJobRepository.countByInterviewNOAndStatusIn(interviewNo, PENDING_JOB_STATUSES) > 0) {
+            return;
+        }
+        Integer expected = interview.getExpectedAnswers();
+        if (expected != null && !timedOut
+                && videoJobRepository.countByInterviewNOAndStatusIn(interviewNo, FINISHED_JOB_STATUSES) < expected) {
+            return;
+        }
+
+        // 여러 워커가 동시에 마지막 답변을 끝내더라도 상태 전환에 성공한 한 곳에서만 실행됩니다.
+        if (interviewRepository.updateStatusIf(interviewNo, InterviewStatus.FINALIZE_REQUESTED, InterviewStatus.SUMMARIZING) != 1) {
+            return;
+        }
+        analysisExecutor.execute(() -> summarize(interviewNo));
+    }
+
+    private void summarize(Long interviewNo) {
+        long startTime = System.currentTimeMillis();
+        try {
+            videoProcessingService.updateInterviewOverall(interviewNo);
+            interviewRepository.updateStatusIf(interviewNo, InterviewStatus.SUMMARIZING, InterviewStatus.COMPLETED);
+            System.out.println("[InterviewFinalizeService] 종합 총평 생성 완료 interviewNo=" + interviewNo
+                    + " (" + (System.currentTimeMillis() - startTime) + "ms)");
+        } catch (Exception e) {
+            System.err.println("[InterviewFinalizeService] 종합 총평 생성 실패 interviewNo=" + interviewNo);
+            e.printStackTrace();
+            interviewRepository.updateStatusIf(interviewNo, InterviewStatus.SUMMARIZING, InterviewStatus.FAILED);
+        }
+    }
+}
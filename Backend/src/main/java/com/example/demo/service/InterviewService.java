@@ -4,6 +4,8 @@ import com.example.demo.domain.InterviewEntity;
 import com.example.demo.domain.UserEntity;
 import com.example.demo.domain.VideoEntity;
 import com.example.demo.dto.InterviewDto;
+import com.example.demo.dto.InterviewHistoryPageDto;
+import com.example.demo.dto.InterviewSummaryDto;
 import com.example.demo.dto.InterviewsDto;
 import com.example.demo.dto.VideoDto;
 import com.example.demo.repository.InterviewRepository;
@@ -12,6 +14,7 @@ import com.example.demo.repository.VideoRepository;
 
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -56,6 +59,29 @@ public class InterviewService {
             .collect(Collectors.toList());
     }
     
+    /**
+     * 마이페이지 면접 이력을 최신순으로 한 페이지 조회합니다. (키셋 페이지네이션)
+     * @param id 사용자 ID
+     * @param cursorDate 이전 페이지의 nextCursorDate (첫 페이지면 null)
+     * @param cursorNo 이전 페이지의 nextCursorNo (첫 페이지면 null)
+     * @param size 페이지 크기
+     */
+    @Transactional(readOnly = true)
+    public InterviewHistoryPageDto getInterviewHistoryPage(String id, LocalDateTime cursorDate, Long cursorNo, int size) {
+        // 다음 페이지 존재 여부를 알기 위해 하나 더 조회합니다.
+        Limit limit = Limit.of(size + 1);
+        List<InterviewSummaryDto> rows = (cursorDate == null || cursorNo == null)
+                ? interviewRepository.findSummariesByUserId(id, limit)
+                : interviewRepository.findSummariesByUserIdBefore(id, cursorDate, cursorNo, limit);
+
+        if (rows.size() <= size) {
+            return new InterviewHistoryPageDto(rows, null, null);
+        }
+        List<InterviewSummaryDto> page = new ArrayList<>(rows.subList(0, size));
+        InterviewSummaryDto last = page.get(size - 1);
+        return new InterviewHistoryPageDto(page, last.getInterviewDate(), last.getInterviewNo());
+    }
+    
     public List<VideoDto> getVideosByInterviewNo(Long interviewNo) {
         List<VideoEntity> videoEntities = videoRepository.findByInterview_InterviewNO(interviewNo);
         // VideoEntity를 VideoDto로 변환
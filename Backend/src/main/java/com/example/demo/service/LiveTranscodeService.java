@@ -0,0 +1,236 @@
+package com.example.demo.service;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 녹화 중에 조각 단위로 올라오는 답변 영상을 받는 즉시 MP4로 변환합니다.
+ * 변환기는 업로드 파일을 앞에서부터 읽다가 아직 도착하지 않은 위치에서는 다음 조각을 기다리므로,
+ * 지원자가 답변을 마칠 때쯤에는 변환도 거의 끝나 있습니다.
+ * 결과는 VideoJobService의 TRANSCODING 단계에서 가져가며, 진행 상태는 메모리에만 있으므로
+ * 서버가 재시작되면 작업은 원본 파일에서 평소처럼 변환합니다. (단일 인스턴스 기준)
+ */
+@Service
+public class LiveTranscodeService {
+
+    private final VideoProcessingService videoProcessingService;
+    private final ThreadPoolTaskExecutor liveTranscodeExecutor;
+
+    // 업로드 파일 경로 → 진행 중인 변환
+    private final Map<String, LiveTranscode> running = new ConcurrentHashMap<>();
+
+    // 이 시간 동안 다음 조각이 오지 않으면 녹화가 중단된 것으로 보고 변환을 포기합니다.
+    @Value("${upload.live.idle-timeout-seconds:120}")
+    private long idleTimeoutSeconds;
+
+    // 업로드 완료 후 남은 변환을 기다리는 최대 시간 (넘으면 원본 파일에서 다시 변환)
+    @Value("${upload.live.finish-timeout-seconds:60}")
+    private long finishTimeoutSeconds;
+
+    public LiveTranscodeService(VideoProcessingService videoProcessingService,
+                                @Qualifier("liveTranscodeExecutor") ThreadPoolTaskExecutor liveTranscodeExecutor) {
+        this.videoProcessingService = videoProcessingService;
+        this.liveTranscodeExecutor = liveTranscodeExecutor;
+    }
+
+    /**
+     * 업로드 파일의 변환을 시작합니다. 변환은 크기가 정해진 liveTranscodeExecutor에서 실행하며,
+     * 자리가 없으면 시작하지 않습니다. 이 경우 업로드가 끝난 뒤 작업의 TRANSCODING 단계에서 원본을 변환합니다.
+     * @param rawPath 조각을 이어 쓰는 업로드 파일 경로
+     */
+    public void start(String rawPath) {
+        LiveTranscode transcode = new LiveTranscode(rawPath);
+        if (running.putIfAbsent(rawPath, transcode) != null) {
+            return;
+        }
+        try {
+            liveTranscodeExecutor.execute(() -> run(rawPath, transcode));
+        } catch (TaskRejectedException e) {
+            running.remove(rawPath, transcode);
+            System.out.println("[LiveTranscodeService] 동시 변환 수를 넘어 녹화 중 변환을 건너뜁니다: " + rawPath);
+        }
+    }
+
+    private void run(String rawPath, LiveTranscode transcode) {
+        long startTime = System.currentTimeMillis();
+        File mp4File = null;
+        try (InputStream in = transcode) {
+            mp4File = videoProcessingService.saveVideoAsMp4(in);
+            System.out.println("[LiveTranscodeService] 녹화 중 변환 완료 (" + (System.currentTimeMillis() - startTime) + "ms): " + rawPath);
+        } catch (IOException | RuntimeException e) {
+            System.out.println("Warning: 녹화 중 변환 실패, 업로드 완료 후 원본에서 변환합니다: " + e.getMessage());
+        }
+        transcode.result.complete(mp4File);
+    }
+
+    /**
+     * 새 조각이 반영되었음을 알립니다.
+     * @param rawPath 업로드 파일 경로
+     * @param available 지금까지 받은 바이트 수
+     */
+    public void onAppended(String rawPath, long available) {
+        LiveTranscode transcode = running.get(rawPath);
+        if (transcode != null) {
+            transcode.update(available, false);
+        }
+    }
+
+    /**
+     * 녹화가 끝나 더 이상 조각이 오지 않음을 알립니다. 변환기는 받은 데이터까지 읽고 종료합니다.
+     */
+    public void finish(String rawPath, long available) {
+        LiveTranscode transcode = running.get(rawPath);
+        if (transcode != null) {
+            transcode.update(available, true);
+        }
+    }
+
+    /**
+     * 재촬영 등으로 버려진 업로드의 변환을 중단하고 만들어진 파일을 삭제합니다.
+     */
+    public void cancel(String rawPath) {
+        LiveTranscode transcode = running.remove(rawPath);
+        if (transcode != null) {
+            transcode.cancel();
+        }
+    }
+
+    /**
+     * 업로드 파일에 대해 녹화 중 변환된 MP4를 가져갑니다. 변환이 아직 진행 중이면 끝날 때까지 기다립니다.
+     * @param rawPath 작업의 원본 파일 경로
+     * @return 변환된 MP4 파일, 녹화 중 변환이 없었거나 실패했으면 null
+     *         (트랜스코딩했다면 음성도 VideoProcessingService.liveAudioFileOf 경로에 추출되어 있습니다)
+     */
+    public File takeResult(String rawPath) {
+        LiveTranscode transcode = running.remove(rawPath);
+        if (transcode == null) {
+            return null;
+        }
+        try {
+            File mp4File = transcode.result.get(finishTimeoutSeconds, TimeUnit.SECONDS);
+            return mp4File != null && mp4File.isFile() ? mp4File : null;
+        } catch (TimeoutException e) {
+            transcode.cancel();
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            transcode.cancel();
+            return null;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static void deleteQuietly(File file) {
+        if (file != null && file.exists() && !file.delete()) {
+            System.out.println("Warning: 변환 파일 삭제에 실패했습니다: " + file.getPath());
+        }
+    }
+
+    /**
+     * 아직 쓰이는 중인 업로드 파일을 앞에서부터 읽는 입력 스트림.
+     * 받은 위치(available)에 도달하면 다음 조각이나 녹화 종료 알림이 올 때까지 기다립니다.
+     */
+    private class LiveTranscode extends InputStream {
+
+        private final String rawPath;
+        private final CompletableFuture<File> result = new CompletableFuture<>();
+        private FileChannel channel;
+        private long position;
+        private long available;
+        private boolean finished;
+        private volatile boolean cancelled;
+
+        LiveTranscode(String rawPath) {
+            this.rawPath = rawPath;
+        }
+
+        synchronized void update(long available, boolean finished) {
+            this.available = Math.max(this.available, available);
+            this.finished |= finished;
+            notifyAll();
+        }
+
+        synchronized void cancel() {
+            this.cancelled = true;
+            notifyAll();
+            // 이미 변환이 끝났다면 결과 파일(MP4와 함께 추출한 음성)을 바로 삭제합니다.
+            result.thenAccept(mp4File -> {
+                if (mp4File != null) {
+                    deleteQuietly(mp4File);
+                    deleteQuietly(videoProcessingService.liveAudioFileOf(mp4File));
+                }
+            });
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] one = new byte[1];
+            int read = read(one, 0, 1);
+            return read == -1 ? -1 : one[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            long readable = awaitData();
+            if (readable <= 0) {
+                return -1;
+            }
+            if (channel == null) {
+                channel = FileChannel.open(Paths.get(rawPath), StandardOpenOption.READ);
+            }
+            int read = channel.read(ByteBuffer.wrap(buffer, offset, (int) Math.min(length, readable)), position);
+            if (read > 0) {
+                position += read;
+            }
+            return read;
+        }
+
+        // 읽을 수 있는 바이트 수를 반환합니다. 녹화가 끝났고 모두 읽었으면 0
+        private synchronized long awaitData() throws IOException {
+            long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(idleTimeoutSeconds);
+            while (!cancelled && position >= available && !finished) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    throw new IOException("녹화 조각이 " + idleTimeoutSeconds + "초 동안 도착하지 않았습니다.");
+                }
+                try {
+                    wait(remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("녹화 중 변환이 중단되었습니다.", e);
+                }
+            }
+            if (cancelled) {
+                throw new IOException("녹화 중 변환이 취소되었습니다.");
+            }
+            return available - position;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (channel != null) {
+                channel.close();
+            }
+        }
+    }
+}
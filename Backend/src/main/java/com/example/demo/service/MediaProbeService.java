@@ -0,0 +1,189 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.MediaProbeResultDto;
+
+import org.bytedeco.javacv.FFmpegFrameGrabber;
+import org.bytedeco.javacv.FFmpegFrameRecorder;
+import org.bytedeco.javacv.Frame;
+import org.bytedeco.javacv.Java2DFrameConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import lombok.RequiredArgsConstructor;
+import static org.bytedeco.ffmpeg.global.avcodec.*;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.UUID;
+
+/**
+ * 동영상 파일을 한 번만 열어서 썸네일, 총 프레임 수, 재생 시간, 음성 트랙, 탐색 미리보기를 함께 추출합니다.
+ * 미리보기를 만들지 않는 설정이면 영상 프레임은 썸네일을 얻을 때까지만 디코딩하고, 그 이후로는 음성 패킷만 디코딩합니다.
+ */
+@Service
+@RequiredArgsConstructor
+public class MediaProbeService {
+
+    private static final long THUMBNAIL_TIMESTAMP = 1_000_000; // 1초 (마이크로초)
+
+    // STT 서버로 넘길 음성 파일 형식 (wav 또는 mp3)
+    @Value("${audio.extract.format:wav}")
+    private String audioFormat;
+
+    // 0이면 원본 값을 그대로 사용합니다.
+    @Value("${audio.extract.sample-rate:16000}")
+    private int audioSampleRate;
+
+    @Value("${audio.extract.channels:1}")
+    private int audioChannels;
+
+    private final PreviewTrackService previewTrackService;
+
+    /**
+     * @param videoFile 분석할 MP4 파일
+     * @param outputDirectory 썸네일과 음성 파일을 저장할 디렉터리
+     * @return 추출 결과
+     * @throws IOException 파일을 열거나 결과를 저장하는 중 오류 발생 시
+     */
+    public MediaProbeResultDto probe(File videoFile, Path outputDirectory) throws IOException {
+        return probe(videoFile, outputDirectory, null);
+    }
+
+    /**
+     * @param videoFile 분석할 MP4 파일
+     * @param outputDirectory 썸네일과 음성 파일을 저장할 디렉터리
+     * @param extractedAudio 변환하면서 이미 추출한 음성 파일 (있으면 음성은 다시 디코딩하지 않고 그대로 결과에 담습니다)
+     * @return 추출 결과
+     * @throws IOException 파일을 열거나 결과를 저장하는 중 오류 발생 시
+     */
+    public MediaProbeResultDto probe(File videoFile, Path outputDirectory, File extractedAudio) throws IOException {
+        String baseName = videoFile.getName().replace(".mp4", "");
+        File thumbnailFile = outputDirectory.resolve(baseName + ".png").toFile();
+        File audioFile = extractedAudio;
+
+        long startTime = System.currentTimeMillis();
+        try (FFmpegFrameGrabber grabber = new FFmpegFrameGrabber(videoFile);
+             Java2DFrameConverter converter = new Java2DFrameConverter()) {
+
+            grabber.start();
+
+            int totalFrames = grabber.getLengthInFrames();
+            long durationMicros = grabber.getLengthInTime();
+
+            FFmpegFrameRecorder audioRecorder = null;
+            if (audioFile == null && grabber.getAudioChannels() > 0) {
+                audioFile = outputDirectory.resolve(UUID.randomUUID() + "." + audioFormat).toFile();
+                audioRecorder = createAudioRecorder(audioFile, grabber.getAudioChannels(), grabber.getSampleRate());
+                audioRecorder.start();
+            }
+
+            // 탐색 미리보기 칸은 같은 디코딩 과정에서 채웁니다. (리먹싱된 영상은 여기서 처음 디코딩됩니다)
+            PreviewTrackService.Sampler previewSampler =
+                    previewTrackService.newSampler(grabber.getImageWidth(), grabber.getImageHeight(), durationMicros);
+
+            try {
+                boolean thumbnailSaved = false;
+                Frame firstImage = null;
+                Frame frame;
+                while ((frame = grabber.grabFrame(audioRecorder != null, !thumbnailSaved || previewSampler != null, true, false)) != null) {
+                    if (frame.image != null && !thumbnailSaved) {
+                        if (frame.timestamp >= THUMBNAIL_TIMESTAMP) {
+                            writeThumbnail(converter, frame, thumbnailFile);
+                            thumbnailSaved = true;
+                        } else if (firstImage == null) {
+                            firstImage = frame.clone(); // 1초보다 짧은 영상을 위한 대체 썸네일
+                        }
+                    }
+                    if (frame.image != null && previewSampler != null) {
+                        previewSampler.accept(frame, converter);
+                    }
+                    if (frame.samples != null && audioRecorder != null) {
+                        audioRecorder.record(frame);
+                    }
+                    if (thumbnailSaved && audioRecorder == null && previewSampler == null) {
+                        break;
+                    }
+                }
+
+                if (!thumbnailSaved) {
+                    if (firstImage == null) {
+                        throw new IOException("썸네일을 위한 프레임을 잡을 수 없습니다.");
+                    }
+                    writeThumbnail(converter, firstImage, thumbnailFile);
+                }
+                if (firstImage != null) {
+                    firstImage.close();
+                }
+                if (previewSampler != null) {
+                    writePreview(previewSampler, videoFile, durationMicros);
+                }
+            } finally {
+                if (audioRecorder != null) {
+                    audioRecorder.close();
+                }
+            }
+
+            System.out.println("[MediaProbeService] " + videoFile.getName() + ": frames=" + totalFrames
+                    + ", duration=" + durationMicros / 1000 + "ms, audio=" + (audioFile != null)
+                    + " (" + (System.currentTimeMillis() - startTime) + "ms)");
+
+            return new MediaProbeResultDto(thumbnailFile, totalFrames, durationMicros, audioFile);
+
+        } catch (Exception e) {
+            // 변환하면서 추출한 음성은 작업이 관리하므로 여기서 만든 파일만 삭제합니다.
+            if (audioFile != null && audioFile != extractedAudio) {
+                audioFile.delete();
+            }
+            throw new IOException("영상 정보 추출 중 오류가 발생했습니다: " + videoFile.getName(), e);
+        }
+    }
+
+    /**
+     * 녹화 중 변환(VideoConversionService)이 MP4와 함께 쓰는 음성 파일의 경로. MP4 옆에 같은 이름으로 둡니다.
+     */
+    public File audioFileOf(File videoFile) {
+        return new File(videoFile.getParentFile(), videoFile.getName().replace(".mp4", "") + "." + audioFormat);
+    }
+
+    /**
+     * 설정된 형식의 음성 recorder를 만듭니다. 채널 수와 샘플레이트가 원본과 다르면 recorder가 리샘플링합니다.
+     * @param sourceChannels 원본 음성 채널 수
+     * @param sourceSampleRate 원본 샘플레이트
+     */
+    public FFmpegFrameRecorder createAudioRecorder(File audioFile, int sourceChannels, int sourceSampleRate) {
+        int channels = audioChannels > 0 ? audioChannels : sourceChannels;
+        int sampleRate = audioSampleRate > 0 ? audioSampleRate : sourceSampleRate;
+
+        FFmpegFrameRecorder recorder = new FFmpegFrameRecorder(audioFile, channels);
+        recorder.setSampleRate(sampleRate);
+        if ("mp3".equals(audioFormat)) {
+            recorder.setFormat("mp3");
+            recorder.setAudioCodec(AV_CODEC_ID_MP3);
+            recorder.setAudioQuality(0); // ffmpeg -q:a 0 과 동일
+        } else {
+            // Whisper가 내부적으로 사용하는 형식(PCM)을 그대로 넘겨 STT 서버의 디코딩 비용을 줄입니다.
+            recorder.setFormat("wav");
+            recorder.setAudioCodec(AV_CODEC_ID_PCM_S16LE);
+        }
+        return recorder;
+    }
+
+    // 미리보기는 없어도 재생과 분석에는 지장이 없으므로 실패해도 추출 결과는 그대로 반환합니다.
+    private static void writePreview(PreviewTrackService.Sampler sampler, File videoFile, long durationMicros) {
+        try {
+            sampler.write(videoFile, durationMicros);
+        } catch (IOException | RuntimeException e) {
+            System.out.println("Warning: 탐색 미리보기 저장에 실패했습니다: " + e.getMessage());
+        }
+    }
+
+    private void writeThumbnail(Java2DFrameConverter converter, Frame frame, File thumbnailFile) throws IOException {
+        BufferedImage bufferedImage = converter.convert(frame);
+        if (bufferedImage == null) {
+            throw new IOException("프레임을 이미지로 변환할 수 없습니다.");
+        }
+        ImageIO.write(bufferedImage, "png", thumbnailFile);
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.demo.service;
+
+import jakarta.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.example.demo.util.DiskLruCache;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.function.Supplier;
+
+/**
+ * 모델 서버(STT/감정/시선) 응답을 입력 내용의 해시로 로컬 디스크에 저장해 두는 캐시입니다.
+ * 같은 영상이 다시 업로드되거나 재분석되면 모델 서버를 호출하지 않고 저장된 응답을 돌려줍니다.
+ * 전체 크기가 상한을 넘으면 가장 오래 사용하지 않은 항목부터 삭제합니다 (LRU).
+ */
+@Service
+public class ModelResultCacheService {
+
+    @Value("${model.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${model.cache.path:${file.storage.path}/cache}")
+    private String cachePath;
+
+    @Value("${model.cache.max-bytes:1073741824}")
+    private long maxBytes;
+
+    private Path cacheDirectory;
+    private DiskLruCache cache;
+
+    @PostConstruct
+    public void init() {
+        this.cacheDirectory = Paths.get(cachePath);
+        this.cache = new DiskLruCache(cacheDirectory, maxBytes);
+        int count;
+        try {
+            // 재시작 후에도 기존 캐시를 사용하도록 마지막 사용 시각(수정 시각) 순으로 목록을 복원합니다.
+            count = cache.load(path -> path.toString().endsWith(".json"));
+        } catch (IOException e) {
+            throw new RuntimeException("Could not load model cache directory: " + cacheDirectory, e);
+        }
+        System.out.println("[ModelResultCacheService] 캐시 " + count + "건, " + cache.getTotalBytes() + " bytes (" + cacheDirectory + ")");
+    }
+
+    /**
+     * 캐시된 응답을 반환하고, 없으면 compute를 실행해 결과를 저장한 뒤 반환합니다.
+     * compute가 예외를 던지거나 null을 반환하면 저장하지 않습니다.
+     * @param kind 모델 종류 (stt, emotion, vision)
+     * @param key key(...)로 만든 캐시 키
+     * @param compute 캐시에 없을 때 모델 서버를 호출하는 함수
+     */
+    public String getOrCompute(String kind, String key, Supplier<String> compute) {
+        if (!enabled || key == null) {
+            return compute.get();
+        }
+        String cached = get(kind, key);
+        if (cached != null) {
+            System.out.println("[ModelResultCacheService] " + kind + " 캐시 사용 key=" + key.substring(0, 12));
+            return cached;
+        }
+        String value = compute.get();
+        if (value != null) {
+            put(kind, key, value);
+        }
+        return value;
+    }
+
+    public String get(String kind, String key) {
+        Path file = fileOf(kind, key);
+        if (!cache.touch(file)) {
+            return null;
+        }
+        try {
+            return Files.readString(file, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            cache.remove(file);
+            return null;
+        }
+    }
+
+    public void put(String kind, String key, String value) {
+        try {
+            cache.write(fileOf(kind, key), temp -> Files.writeString(temp, value, StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            System.out.println("Warning: 모델 캐시 저장에 실패했습니다: " + e.getMessage());
+        }
+    }
+
+    // cache/{kind}/{키 앞 2글자}/{키}.json
+    private Path fileOf(String kind, String key) {
+        return cacheDirectory.resolve(kind).resolve(key.substring(0, 2)).resolve(key + ".json");
+    }
+
+    /**
+     * 캐시 키를 만듭니다. 입력 영상의 해시, 모델 버전, 보정값 등 결과에 영향을 주는 값을 모두 넣어야 합니다.
+     */
+    public static String key(Object... parts) {
+        MessageDigest digest = sha256();
+        for (Object part : parts) {
+            digest.update(String.valueOf(part).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * 파일 내용의 SHA-256 해시 (16진수 문자열)
+     */
+    public static String sha256(File file) {
+        MessageDigest digest = sha256();
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream in = Files.newInputStream(file.toPath())) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    public static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.example.demo.service;
+
+import org.bytedeco.javacv.Frame;
+import org.bytedeco.javacv.Java2DFrameConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.example.demo.util.MediaFileUtil;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+/**
+ * 탐색(스크럽) 미리보기용 스프라이트 시트와 WebVTT 썸네일 목록을 만듭니다.
+ * 일정 간격으로 고른 프레임을 작게 줄여 한 장의 JPEG에 격자로 붙이고,
+ * VTT의 각 구간은 "{시트 파일}#xywh=x,y,w,h" 형식으로 해당 칸을 가리킵니다.
+ * 프레임은 MediaProbeService가 썸네일/음성을 추출하는 디코딩 과정에서 넘겨받으므로 영상을 다시 열지 않습니다.
+ */
+@Service
+public class PreviewTrackService {
+
+    // VTT에서 시트를 가리키는 상대 경로 (/videos/{videoNo}/preview.vtt 기준으로 /videos/{videoNo}/preview.jpg)
+    public static final String SPRITE_URL = "preview.jpg";
+
+    @Value("${preview.enabled:true}")
+    private boolean enabled;
+
+    // 미리보기 프레임 간격 (초), 영상이 길어 칸 수가 max-tiles를 넘으면 간격을 늘립니다.
+    @Value("${preview.interval-seconds:2}")
+    private double intervalSeconds;
+
+    @Value("${preview.tile-width:160}")
+    private int tileWidth;
+
+    @Value("${preview.columns:10}")
+    private int columns;
+
+    @Value("${preview.max-tiles:300}")
+    private int maxTiles;
+
+    @Value("${preview.jpeg-quality:0.7}")
+    private float jpegQuality;
+
+    /**
+     * MP4 파일에 대응하는 스프라이트 시트 경로 (같은 디렉터리, {이름}_preview.jpg)
+     */
+    public static File spriteFileOf(File mp4File) {
+        return new File(mp4File.getParentFile(), baseName(mp4File) + "_preview.jpg");
+    }
+
+    /**
+     * MP4 파일에 대응하는 WebVTT 경로 (같은 디렉터리, {이름}_preview.vtt)
+     */
+    public static File vttFileOf(File mp4File) {
+        return new File(mp4File.getParentFile(), baseName(mp4File) + "_preview.vtt");
+    }
+
+    /**
+     * 영상 한 편의 미리보기 수집기를 만듭니다.
+     * @param imageWidth 원본 가로 크기
+     * @param imageHeight 원본 세로 크기
+     * @param durationMicros 재생 시간 (모르면 0)
+     * @return 미리보기를 만들지 않는 설정이거나 영상 크기를 알 수 없으면 null
+     */
+    public Sampler newSampler(int imageWidth, int imageHeight, long durationMicros) {
+        if (!enabled || imageWidth <= 0 || imageHeight <= 0) {
+            return null;
+        }
+        long intervalMicros = Math.max(1, (long) (intervalSeconds * 1_000_000));
+        int tileCount = maxTiles;
+        if (durationMicros > 0) {
+            intervalMicros = Math.max(intervalMicros, ceilDiv(durationMicros, maxTiles));
+            tileCount = (int) Math.max(1, ceilDiv(durationMicros, intervalMicros));
+        }
+        int width = Math.min(tileWidth, imageWidth);
+        int height = Math.max(1, Math.round((float) imageHeight * width / imageWidth));
+        return new Sampler(width, height, intervalMicros, tileCount);
+    }
+
+    /**
+     * 디코딩된 프레임을 받아 시트의 칸을 채웁니다. 영상 한 편에 하나씩 만들며 스레드 간에 공유하지 않습니다.
+     */
+    public class Sampler {
+
+        private final int width;
+        private final int height;
+        private final long intervalMicros;
+        private final int tileCount;
+        private final BufferedImage sheet;
+        private final Graphics2D graphics;
+        private int filled;
+        private long lastTimestamp;
+
+        private Sampler(int width, int height, long intervalMicros, int tileCount) {
+            this.width = width;
+            this.height = height;
+            this.intervalMicros = intervalMicros;
+            this.tileCount = tileCount;
+            int rows = (tileCount + columns - 1) / columns;
+            this.sheet = new BufferedImage(width * Math.min(columns, tileCount), height * rows, BufferedImage.TYPE_INT_RGB);
+            this.graphics = sheet.createGraphics();
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        }
+
+        /**
+         * 다음 칸의 시각에 도달한 프레임이면 줄여서 시트에 그립니다. 프레임 사이가 벌어져 건너뛴 칸은 같은 프레임으로 채웁니다.
+         */
+        public void accept(Frame frame, Java2DFrameConverter converter) {
+            if (frame.image == null || filled >= tileCount || frame.timestamp < filled * intervalMicros) {
+                return;
+            }
+            BufferedImage image = converter.convert(frame);
+            if (image == null) {
+                return;
+            }
+            do {
+                int x = (filled % columns) * width;
+                int y = (filled / columns) * height;
+                graphics.drawImage(image, x, y, width, height, null);
+                filled++;
+            } while (filled < tileCount && frame.timestamp >= filled * intervalMicros);
+            lastTimestamp = Math.max(lastTimestamp, frame.timestamp);
+        }
+
+        /**
+         * 채운 칸까지 시트와 VTT를 MP4 옆에 저장합니다.
+         * @param mp4File 미리보기를 만든 MP4 파일
+         * @param durationMicros 재생 시간 (마지막 구간의 끝, 모르면 0)
+         */
+        public void write(File mp4File, long durationMicros) throws IOException {
+            graphics.dispose();
+            if (filled == 0) {
+                return;
+            }
+            File spriteFile = spriteFileOf(mp4File);
+            File vttFile = vttFileOf(mp4File);
+
+            // 재생 시간을 몰라 max-tiles만큼 잡아 둔 시트는 채운 줄까지만 저장합니다.
+            int usedRows = (filled + columns - 1) / columns;
+            BufferedImage used = usedRows * height < sheet.getHeight()
+                    ? sheet.getSubimage(0, 0, sheet.getWidth(), usedRows * height)
+                    : sheet;
+            MediaFileUtil.writeJpeg(used, spriteFile, jpegQuality);
+
+            long endMicros = durationMicros > 0 ? durationMicros : Math.max(lastTimestamp, filled * intervalMicros);
+            StringBuilder vtt = new StringBuilder("WEBVTT\n\n");
+            for (int i = 0; i < filled; i++) {
+                long start = i * intervalMicros;
+                long end = i == filled - 1 ? Math.max(endMicros, start + 1000) : (i + 1) * intervalMicros;
+                vtt.append(timestamp(start)).append(" --> ").append(timestamp(end)).append('\n')
+                        .append(SPRITE_URL)
+                        .append("#xywh=").append((i % columns) * width).append(',').append((i / columns) * height)
+                        .append(',').append(width).append(',').append(height)
+                        .append("\n\n");
+            }
+            Files.writeString(vttFile.toPath(), vtt, StandardCharsets.UTF_8);
+            System.out.println("[PreviewTrackService] 미리보기 " + filled + "칸 (" + width + "x" + height
+                    + ", " + intervalMicros / 1000 + "ms 간격): " + spriteFile.getName());
+        }
+    }
+
+    // WebVTT 시각 형식 (HH:MM:SS.mmm)
+    private static String timestamp(long micros) {
+        long millis = micros / 1000;
+        return String.format("%02d:%02d:%02d.%03d",
+                millis / 3_600_000, (millis / 60_000) % 60, (millis / 1000) % 60, millis % 1000);
+    }
+
+    private static long ceilDiv(long a, long b) {
+        return (a + b - 1) / b;
+    }
+
+    private static String baseName(File mp4File) {
+        return mp4File.getName().replace(".mp4", "");
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.demo.service;
+
+import com.example.demo.domain.VideoEntity;
+import com.example.demo.repository.VideoRepository;
+import com.example.demo.util.DiskLruCache;
+import com.example.demo.util.MediaFileUtil;
+
+import jakarta.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 영상 번호로 썸네일 크기별 변형(JPEG)을 만들어 디스크 캐시에 보관합니다.
+ * 원본 썸네일(PNG)은 MediaProbeService가 영상 해상도 그대로 저장하므로 목록 화면에서 그대로 쓰기에는 큽니다.
+ * 변형은 처음 요청될 때 한 번 만들고, 캐시 전체 크기가 상한을 넘으면 오래 사용하지 않은 것부터 삭제합니다.
+ */
+@Service
+public class ThumbnailService {
+
+    // 제공하는 가로 크기 (px)
+    public static final List<Integer> WIDTHS = List.of(160, 320, 640);
+
+    // 크기 조절/인코딩 방식을 바꾸면 올려서 브라우저 캐시(ETag)와 디스크 캐시를 새로 만들게 합니다.
+    public static final int VARIANT_VERSION = 1;
+
+    private final VideoRepository videoRepository;
+
+    @Value("${thumbnail.cache.path:${file.storage.path}/thumbnails}")
+    private String cachePath;
+
+    @Value("${thumbnail.cache.max-bytes:268435456}")
+    private long maxBytes;
+
+    @Value("${thumbnail.jpeg-quality:0.8}")
+    private float jpegQuality;
+
+    private DiskLruCache cache;
+
+    // 같은 변형을 동시에 여러 번 만들지 않도록 변형별로 잠급니다.
+    private final Map<Path, Object> locks = new ConcurrentHashMap<>();
+
+    public ThumbnailService(VideoRepository videoRepository) {
+        this.videoRepository = videoRepository;
+    }
+
+    @PostConstruct
+    public void init() {
+        Path directory = Paths.get(cachePath);
+        this.cache = new DiskLruCache(directory, maxBytes);
+        int count;
+        try {
+            count = cache.load(path -> path.toString().endsWith(".jpg"));
+        } catch (IOException e) {
+            throw new RuntimeException("Could not load thumbnail cache directory: " + directory, e);
+        }
+        System.out.println("[ThumbnailService] 썸네일 캐시 " + count + "건, " + cache.getTotalBytes() + " bytes (" + directory + ")");
+    }
+
+    /**
+     * 변형의 ETag. 같은 영상/크기의 변형은 내용이 바뀌지 않으므로 파일을 보지 않고 만들 수 있습니다.
+     */
+    public static String etag(Long videoNo, int width) {
+        return "\"thumb-v" + VARIANT_VERSION + "-" + videoNo + "-" + width + "\"";
+    }
+
+    /**
+     * 영상의 썸네일 변형 파일을 반환합니다. 캐시에 없으면 원본 썸네일을 줄여서 만듭니다.
+     * @param videoNo VideoEntity의 PK
+     * @param width 가로 크기 (WIDTHS 중 하나, 원본보다 크면 원본 크기)
+     * @return JPEG 파일 경로
+     * @throws IllegalArgumentException 지원하지 않는 크기이거나 영상/원본 썸네일이 없는 경우
+     */
+    public Path getVariant(Long videoNo, int width) throws IOException {
+        if (!WIDTHS.contains(width)) {
+            throw new IllegalArgumentException("지원하지 않는 썸네일 크기입니다: " + width + " (지원: " + WIDTHS + ")");
+        }
+        Path file = cache.getDirectory()
+                .resolve("v" + VARIANT_VERSION)
+                .resolve(String.valueOf(width))
+                .resolve(videoNo + ".jpg");
+        if (cache.touch(file)) {
+            return file;
+        }
+
+        Object lock = locks.computeIfAbsent(file, key -> new Object());
+        try {
+            synchronized (lock) {
+                // 기다리는 동안 다른 요청이 만들었으면 그대로 사용합니다.
+                if (cache.touch(file)) {
+                    return file;
+                }
+                BufferedImage resized = resize(readSource(videoNo), width);
+                cache.write(file, temp -> MediaFileUtil.writeJpeg(resized, temp.toFile(), jpegQuality));
+                return file;
+            }
+        } finally {
+            locks.remove(file, lock);
+        }
+    }
+
+    private BufferedImage readSource(Long videoNo) throws IOException {
+        VideoEntity video = videoRepository.findById(videoNo)
+                .orElseThrow(() -> new IllegalArgumentException("영상을 찾을 수 없습니다. ID: " + videoNo));
+        if (video.getThumbnailDir() == null) {
+            throw new IllegalArgumentException("썸네일이 없는 영상입니다. ID: " + videoNo);
+        }
+        Path source = Paths.get(video.getThumbnailDir());
+        if (!Files.isReadable(source)) {
+            throw new IllegalArgumentException("썸네일 파일을 읽을 수 없습니다. ID: " + videoNo);
+        }
+        BufferedImage image = ImageIO.read(source.toFile());
+        if (image == null) {
+            throw new IOException("썸네일 이미지를 해석할 수 없습니다: " + source);
+        }
+        return image;
+    }
+
+    /**
+     * 가로 크기에 맞춰 비율을 유지하며 줄입니다.
+     * 한 번에 크게 줄이면 쌍선형 보간이 대부분의 픽셀을 건너뛰어 계단 현상이 생기므로 절반씩 나눠 줄입니다.
+     */
+    private static BufferedImage resize(BufferedImage source, int width) {
+        int targetWidth = Math.min(width, source.getWidth());
+        int targetHeight = Math.max(1, Math.round((float) source.getHeight() * targetWidth / source.getWidth()));
+
+        BufferedImage current = source;
+        int currentWidth = source.getWidth();
+        int currentHeight = source.getHeight();
+        do {
+            currentWidth = Math.max(currentWidth / 2, targetWidth);
+            currentHeight = Math.max(currentHeight / 2, targetHeight);
+            // JPEG는 알파 채널이 없으므로 RGB로 그립니다.
+            BufferedImage next = new BufferedImage(currentWidth, currentHeight, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = next.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.drawImage(current, 0, 0, currentWidth, currentHeight, null);
+            } finally {
+                g.dispose();
+            }
+            current = next;
+        } while (currentWidth != targetWidth || currentHeight != targetHeight);
+        return current;
+    }
+}
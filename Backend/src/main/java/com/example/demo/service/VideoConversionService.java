@@ -1,72 +1,210 @@
 package com.example.demo.service;
 
+import com.example.demo.util.MediaFileUtil;
+
+import org.bytedeco.ffmpeg.avcodec.AVPacket;
 import org.bytedeco.javacv.FFmpegFrameGrabber;
 import org.bytedeco.javacv.FFmpegFrameRecorder;
 import org.bytedeco.javacv.Frame;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 import static org.bytedeco.ffmpeg.global.avcodec.*;
 
 import java.io.File;
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
+import java.io.InputStream;
 
 @Service
 public class VideoConversionService {
 
+    private final MediaProbeService mediaProbeService;
+
+    // 원본이 이미 H.264(+AAC)이면 디코딩/인코딩 없이 패킷 단위로 MP4 컨테이너에 옮겨 담습니다.
+    @Value("${video.conversion.remux-enabled:true}")
+    private boolean remuxEnabled;
+
+    public VideoConversionService(MediaProbeService mediaProbeService) {
+        this.mediaProbeService = mediaProbeService;
+    }
+
     /**
      * MultipartFile을 받아서 MP4 형식의 임시 파일로 변환합니다.
+     * 업로드 스트림을 바로 디코더에 연결하므로 원본을 별도의 임시 파일로 복사하지 않습니다.
      * @param multipartFile 변환할 원본 비디오 파일 (예: .webm)
-     * @return 변환된 MP4 형식의 임-시 파일 객체
+     * @return 변환된 MP4 형식의 임시 파일 객체
      * @throws IOException 파일 처리 중 예외 발생
      */
 	public File convertToMp4(MultipartFile multipartFile) throws IOException {
-	    System.out.println("인코딩 시작");
+	    File outputFile = File.createTempFile("converted_", ".mp4");
+	    try (InputStream inputStream = multipartFile.getInputStream()) {
+	        convertToMp4(inputStream, outputFile);
+	    } catch (IOException | RuntimeException e) {
+	        outputFile.delete();
+	        throw e;
+	    }
+	    return outputFile;
+	}
 
-	    Path tempFilePath = Files.createTempFile("temp_video_", multipartFile.getOriginalFilename());
-	    File sourceFile = tempFilePath.toFile();
-	    multipartFile.transferTo(sourceFile);
+    /**
+     * 서버에 저장된 동영상 파일을 MP4로 변환하여 지정한 위치에 바로 씁니다. 원본 파일은 삭제하지 않습니다.
+     * @param sourceFile 변환할 원본 비디오 파일 (예: .webm)
+     * @param outputFile 변환 결과를 쓸 파일 (최종 저장 경로)
+     * @throws IOException 파일 처리 중 예외 발생
+     */
+	public void convertToMp4(File sourceFile, File outputFile) throws IOException {
+	    try (FFmpegFrameGrabber grabber = new FFmpegFrameGrabber(sourceFile)) {
+	        grabber.start();
+	        if (canRemux(grabber)) {
+	            try {
+	                remux(grabber, outputFile);
+	                return;
+	            } catch (IOException e) {
+	                // 타임스탬프가 깨진 녹화본 등은 리먹싱에 실패할 수 있으므로 원본을 다시 열어 트랜스코딩합니다.
+	                System.out.println("리먹싱 실패, 트랜스코딩으로 전환: " + e.getMessage());
+	                outputFile.delete();
+	            }
+	        } else {
+	            transcode(grabber, outputFile, null);
+	            return;
+	        }
+	    }
+	    try (FFmpegFrameGrabber grabber = new FFmpegFrameGrabber(sourceFile)) {
+	        grabber.start();
+	        transcode(grabber, outputFile, null);
+	    }
+	}
 
-	    String outputFileName = "converted_" + System.currentTimeMillis() + ".mp4";
-	    File outputFile = new File(sourceFile.getParent(), outputFileName);
+    /**
+     * 입력 스트림의 동영상을 MP4로 변환하여 지정한 위치에 바로 씁니다.
+     * @param inputStream 원본 비디오 스트림 (예: 업로드 요청 본문)
+     * @param outputFile 변환 결과를 쓸 파일
+     * @throws IOException 파일 처리 중 예외 발생
+     */
+	public void convertToMp4(InputStream inputStream, File outputFile) throws IOException {
+	    convertToMp4(inputStream, outputFile, null);
+	}
 
-	    long startTime = System.currentTimeMillis();
-	    try (FFmpegFrameGrabber grabber = new FFmpegFrameGrabber(sourceFile)) {
+    /**
+     * 입력 스트림의 동영상을 MP4로 변환하면서, 트랜스코딩하는 경우에는 같은 디코딩 결과로 STT용 음성 파일도 씁니다.
+     * 녹화 중 변환처럼 조각이 도착하는 대로 읽는 스트림이면 음성도 녹화와 함께 조금씩 추출됩니다.
+     * 리먹싱은 음성을 디코딩하지 않으므로 음성 파일을 만들지 않습니다.
+     * @param inputStream 원본 비디오 스트림
+     * @param outputFile 변환 결과를 쓸 파일
+     * @param audioFile 음성을 쓸 파일 (null이면 쓰지 않음)
+     * @return 음성 파일을 썼으면 true
+     * @throws IOException 파일 처리 중 예외 발생
+     */
+	public boolean convertToMp4(InputStream inputStream, File outputFile, File audioFile) throws IOException {
+	    try (FFmpegFrameGrabber grabber = new FFmpegFrameGrabber(inputStream)) {
 	        grabber.start();
+	        // 스트림은 다시 읽을 수 없으므로 리먹싱 실패 시 트랜스코딩으로 되돌아가지 않습니다.
+	        if (canRemux(grabber)) {
+	            remux(grabber, outputFile);
+	            return false;
+	        }
+	        return transcode(grabber, outputFile, audioFile);
+	    }
+	}
+
+    /**
+     * 원본의 코덱을 확인하여 재인코딩 없이 MP4로 옮겨 담을 수 있는지 판단합니다.
+     * 영상은 H.264, 음성은 없거나 AAC여야 합니다.
+     * @param grabber start()가 호출된 원본 grabber
+     */
+	private boolean canRemux(FFmpegFrameGrabber grabber) {
+	    if (!remuxEnabled) {
+	        return false;
+	    }
+	    boolean h264Video = grabber.getVideoCodec() == AV_CODEC_ID_H264;
+	    boolean aacOrNoAudio = grabber.getAudioChannels() == 0 || grabber.getAudioCodec() == AV_CODEC_ID_AAC;
+	    System.out.println("코덱 확인: video=" + grabber.getVideoCodecName() + ", audio=" + grabber.getAudioCodecName()
+	            + " -> " + (h264Video && aacOrNoAudio ? "리먹싱" : "트랜스코딩"));
+	    return h264Video && aacOrNoAudio;
+	}
 
-	        try (FFmpegFrameRecorder recorder = new FFmpegFrameRecorder(outputFile, grabber.getImageWidth(), grabber.getImageHeight(), grabber.getAudioChannels())) {
-	            recorder.setVideoCodec(AV_CODEC_ID_H264);
-	            recorder.setFormat("mp4");
-	            recorder.setFrameRate(grabber.getFrameRate());
-	            recorder.setSampleRate(grabber.getSampleRate());
-	            recorder.setAudioCodec(AV_CODEC_ID_AAC);
-	            recorder.setVideoBitrate(grabber.getVideoBitrate() > 0 ? grabber.getVideoBitrate() : 2000000);
-	            recorder.setAudioBitrate(grabber.getAudioBitrate() > 0 ? grabber.getAudioBitrate() : 192000);
-
-	            recorder.start();
-	            Frame frame;
-	            while ((frame = grabber.grabFrame()) != null) {
-	                if (frame.timestamp >= 0) {
-	                    recorder.setTimestamp(frame.timestamp);
-	                } else {
-	                    long timestamp = (System.currentTimeMillis() - startTime) * 1000; // microseconds 단위
-	                    recorder.setTimestamp(timestamp);
-	                }
-	                recorder.record(frame);
+    /**
+     * 디코딩 없이 패킷 단위로 원본 스트림을 MP4 컨테이너에 복사합니다.
+     * @param grabber start()가 호출된 원본 grabber
+     * @param outputFile 결과를 쓸 파일
+     * @throws IOException 패킷 복사 중 예외 발생
+     */
+	private void remux(FFmpegFrameGrabber grabber, File outputFile) throws IOException {
+	    System.out.println("리먹싱 시작");
+
+	    long startTime = System.currentTimeMillis();
+	    try (FFmpegFrameRecorder recorder = new FFmpegFrameRecorder(outputFile, grabber.getImageWidth(), grabber.getImageHeight(), grabber.getAudioChannels())) {
+	        recorder.setFormat("mp4");
+	        recorder.setVideoCodec(grabber.getVideoCodec());
+	        recorder.setAudioCodec(grabber.getAudioCodec());
+	        recorder.setFrameRate(grabber.getFrameRate());
+	        recorder.setSampleRate(grabber.getSampleRate());
+
+	        recorder.start(grabber.getFormatContext());
+	        AVPacket packet;
+	        while ((packet = grabber.grabPacket()) != null) {
+	            recorder.recordPacket(packet);
+	        }
+	        recorder.stop();
+	    }
+
+	    System.out.println("리먹싱 완료 (" + outputFile.length() + " bytes, " + (System.currentTimeMillis() - startTime) + "ms)");
+	}
+
+	private boolean transcode(FFmpegFrameGrabber grabber, File outputFile, File audioFile) throws IOException {
+	    System.out.println("인코딩 시작");
+
+	    long startTime = System.currentTimeMillis();
+
+	    FFmpegFrameRecorder audioRecorder = null;
+	    try (FFmpegFrameRecorder recorder = new FFmpegFrameRecorder(outputFile, grabber.getImageWidth(), grabber.getImageHeight(), grabber.getAudioChannels())) {
+	        recorder.setVideoCodec(AV_CODEC_ID_H264);
+	        recorder.setFormat("mp4");
+	        recorder.setFrameRate(grabber.getFrameRate());
+	        recorder.setSampleRate(grabber.getSampleRate());
+	        recorder.setAudioCodec(AV_CODEC_ID_AAC);
+	        recorder.setVideoBitrate(grabber.getVideoBitrate() > 0 ? grabber.getVideoBitrate() : 2000000);
+	        recorder.setAudioBitrate(grabber.getAudioBitrate() > 0 ? grabber.getAudioBitrate() : 192000);
+
+	        recorder.start();
+	        if (audioFile != null && grabber.getAudioChannels() > 0) {
+	            audioRecorder = mediaProbeService.createAudioRecorder(audioFile, grabber.getAudioChannels(), grabber.getSampleRate());
+	            audioRecorder.start();
+	        }
+	        Frame frame;
+	        while ((frame = grabber.grabFrame()) != null) {
+	            if (frame.samples != null && audioRecorder != null) {
+	                // 이어서 MP4 인코더가 같은 샘플을 처음부터 읽도록 버퍼 위치를 되돌립니다.
+	                MediaFileUtil.recordShared(audioRecorder, frame);
 	            }
-	            recorder.stop();
-	        } finally {
-	            grabber.stop();
+	            if (frame.timestamp >= 0) {
+	                recorder.setTimestamp(frame.timestamp);
+	            } else {
+	                long timestamp = (System.currentTimeMillis() - startTime) * 1000; // microseconds 단위
+	                recorder.setTimestamp(timestamp);
+	            }
+	            recorder.record(frame);
 	        }
-	    } finally {
-	        if (!sourceFile.delete()) {
-	            System.out.println("임시 파일 삭제 실패" + sourceFile.getAbsolutePath());
+	        recorder.stop();
+	        if (audioRecorder != null) {
+	            audioRecorder.stop();
+	            audioRecorder.close();
 	        }
+	    } catch (IOException | RuntimeException e) {
+	        if (audioRecorder != null) {
+	            try {
+	                audioRecorder.close();
+	            } catch (IOException closeError) {
+	                e.addSuppressed(closeError);
+	            }
+	            audioFile.delete();
+	        }
+	        throw e;
 	    }
 
-
-	    System.out.println("인코딩 완료");
-	    return outputFile;
+	    // 업로드 한 건당 디스크 쓰기량을 확인할 수 있도록 출력 크기를 남깁니다.
+	    System.out.println("인코딩 완료 (" + outputFile.length() + " bytes, " + (System.currentTimeMillis() - startTime) + "ms"
+	            + (audioRecorder != null ? ", 음성 " + audioFile.length() + " bytes" : "") + ")");
+	    return audioRecorder != null;
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,449 @@
+package com.example.demo.service;
+
+import com.example.demo.domain.VideoJobEntity;
+import com.example.demo.domain.VideoJobStage;
+import com.example.demo.domain.VideoJobStatus;
+import com.example.demo.dto.MediaProbeResultDto;
+import com.example.demo.repository.InterviewRepository;
+import com.example.demo.repository.QuestionRepository;
+import com.example.demo.repository.VideoJobRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+
+/**
+ * 답변 영상 처리 작업의 등록, 워커 배정, 단계별 실행을 담당합니다.
+ * 업로드 요청 스레드는 원본 저장과 작업 등록까지만 수행하고,
+ * 변환부터 총평 갱신까지의 모든 단계는 videoJobExecutor의 워커 스레드에서 실행됩니다.
+ */
+@Service
+public class VideoJobService {
+
+    private final VideoJobRepository videoJobRepository;
+    private final InterviewRepository interviewRepository;
+    private final QuestionRepository questionRepository;
+    private final VideoProcessingService videoProcessingService;
+    private final InterviewFinalizeService interviewFinalizeService;
+    private final LiveTranscodeService liveTranscodeService;
+    private final HlsPackagingService hlsPackagingService;
+    private final ThreadPoolTaskExecutor videoJobExecutor;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Value("${file.storage.path}")
+    private String storagePath;
+
+    // 한 단계에서 이 횟수만큼 실패하면 작업을 FAILED로 종료합니다.
+    @Value("${video.job.max-attempts:4}")
+    private int maxAttempts;
+
+    @Value("${video.job.retry-base-seconds:10}")
+    private long retryBaseSeconds;
+
+    @Value("${video.job.retry-max-seconds:600}")
+    private long retryMaxSeconds;
+
+    private Path rawDirectory;
+    private Semaphore workerSlots;
+
+    @Autowired
+    public VideoJobService(VideoJobRepository videoJobRepository,
+                           InterviewRepository interviewRepository,
+                           QuestionRepository questionRepository,
+                           VideoProcessingService videoProcessingService,
+                           InterviewFinalizeService interviewFinalizeService,
+                           LiveTranscodeService liveTranscodeService,
+                           HlsPackagingService hlsPackagingService,
+                           @Qualifier("videoJobExecutor") ThreadPoolTaskExecutor videoJobExecutor) {
+        this.videoJobRepository = videoJobRepository;
+        this.interviewRepository = interviewRepository;
+        this.questionRepository = questionRepository;
+        this.videoProcessingService = videoProcessingService;
+        this.interviewFinalizeService = interviewFinalizeService;
+        this.liveTranscodeService = liveTranscodeService;
+        this.hlsPackagingService = hlsPackagingService;
+        this.videoJobExecutor = videoJobExecutor;
+    }
+
+    @PostConstruct
+    public void init() {
+        this.rawDirectory = Paths.get(storagePath, "raw");
+        try {
+            Files.createDirectories(this.rawDirectory);
+        } catch (IOException e) {
+            throw new RuntimeException("Could not create raw upload directory: " + rawDirectory, e);
+        }
+        this.workerSlots = new Semaphore(videoJobExecutor.getMaxPoolSize());
+    }
+
+    /**
+     * 업로드된 원본 파일을 저장하고 처리 작업을 대기열에 등록합니다.
+     * @param interviewNo 면접 회차의 ID
+     * @param questionNo 질문의 ID
+     * @param videoFile 사용자가 업로드한 답변 영상 파일
+     * @return 등록된 작업
+     * @throws IOException 원본 파일 저장 중 오류 발생 시
+     * @throws IllegalArgumentException 면접 회차나 질문이 존재하지 않을 경우
+     */
+    public VideoJobEntity enqueue(Long interviewNo, Long questionNo, MultipartFile videoFile) throws IOException {
+        validateTarget(interviewNo, questionNo);
+
+        // 저장하면서 내용 해시를 함께 계산합니다. (같은 영상이 다시 올라오면 모델 결과 캐시를 사용)
+        Path rawPath = rawDirectory.resolve(UUID.randomUUID() + extensionOf(videoFile.getOriginalFilename()));
+        MessageDigest digest = ModelResultCacheService.sha256();
+        try (InputStream in = new DigestInputStream(videoFile.getInputStream(), digest)) {
+            Files.copy(in, rawPath);
+        }
+
+        return register(interviewNo, questionNo, rawPath, HexFormat.of().formatHex(digest.digest()));
+    }
+
+    /**
+     * 이미 서버에 저장된 원본 파일(분할 업로드로 조립된 파일 등)로 처리 작업을 등록합니다.
+     * 파일은 복사하지 않고 그대로 원본으로 사용하며, 작업이 끝나면 삭제됩니다.
+     * @param interviewNo 면접 회차의 ID
+     * @param questionNo 질문의 ID
+     * @param rawFile 저장된 원본 파일
+     * @return 등록된 작업
+     * @throws IllegalArgumentException 면접 회차나 질문이 존재하지 않을 경우
+     */
+    public VideoJobEntity enqueueFile(Long interviewNo, Long questionNo, File rawFile) {
+        validateTarget(interviewNo, questionNo);
+        return register(interviewNo, questionNo, rawFile.toPath(), ModelResultCacheService.sha256(rawFile));
+    }
+
+    /**
+     * 작업 등록 전에 면접 회차와 질문이 존재하는지 확인합니다.
+     * @throws IllegalArgumentException 면접 회차나 질문이 존재하지 않을 경우
+     */
+    public void validateTarget(Long interviewNo, Long questionNo) {
+        if (!interviewRepository.existsById(interviewNo)) {
+            throw new IllegalArgumentException("요청한 면접 회차를 찾을 수 없습니다. ID: " + interviewNo);
+        }
+        if (!questionRepository.existsById(questionNo)) {
+            throw new IllegalArgumentException("요청한 질문을 찾을 수 없습니다. ID: " + questionNo);
+        }
+    }
+
+    private VideoJobEntity register(Long interviewNo, Long questionNo, Path rawPath, String contentHash) {
+        VideoJobEntity job = videoJobRepository.save(VideoJobEntity.builder()
+                .interviewNO(interviewNo)
+                .questionNO(questionNo)
+                .rawPath(rawPath.toString())
+                .contentHash(contentHash)
+                .status(VideoJobStatus.QUEUED)
+                .stage(VideoJobStage.UPLOADED)
+                .build());
+
+        dispatch();
+        return job;
+    }
+
+    public VideoJobEntity getJob(Long jobNo) {
+        return videoJobRepository.findById(jobNo)
+                .orElseThrow(() -> new IllegalArgumentException("작업을 찾을 수 없습니다. ID: " + jobNo));
+    }
+
+    // 서버가 처리 도중 종료되었다면 RUNNING 상태로 남은 작업을 다시 대기열로 돌립니다. (단일 인스턴스 기준)
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverJobs() {
+        int recovered = videoJobRepository.updateAllStatus(VideoJobStatus.RUNNING, VideoJobStatus.QUEUED);
+        if (recovered > 0) {
+            System.out.println("[VideoJobService] 중단된 작업 " + recovered + "건을 대기열로 복구했습니다.");
+        }
+        dispatch();
+    }
+
+    // 워커가 비었는데 배정되지 못한 작업이 있을 경우를 대비해 주기적으로 대기열을 확인합니다.
+    @Scheduled(fixedDelayString = "${video.job.poll-interval-ms:5000}")
+    public void poll() {
+        dispatch();
+    }
+
+    /**
+     * 비어 있는 워커 수만큼 대기 작업을 선점하여 실행합니다.
+     */
+    private synchronized void dispatch() {
+        while (workerSlots.tryAcquire()) {
+            Long jobNo = claimNext();
+            if (jobNo == null) {
+                workerSlots.release();
+                return;
+            }
+            try {
+                videoJobExecutor.execute(() -> runJob(jobNo));
+            } catch (TaskRejectedException e) {
+                workerSlots.release();
+                videoJobRepository.updateStatusIf(jobNo, VideoJobStatus.RUNNING, VideoJobStatus.QUEUED);
+                return;
+            }
+        }
+    }
+
+    private Long claimNext() {
+        for (VideoJobEntity candidate : videoJobRepository.findReady(VideoJobStatus.QUEUED, LocalDateTime.now(), Limit.of(10))) {
+            if (videoJobRepository.updateStatusIf(candidate.getJobNO(), VideoJobStatus.QUEUED, VideoJobStatus.RUNNING) == 1) {
+                return candidate.getJobNO();
+            }
+        }
+        return null;
+    }
+
+    private void runJob(Long jobNo) {
+        try {
+            process(jobNo);
+        } catch (Exception e) {
+            // process 내부에서 처리하지 못한 예외 (작업 조회 실패 등)
+            System.err.println("[VideoJobService] 작업 실행 중 예외 발생 jobNo=" + jobNo);
+            e.printStackTrace();
+        } finally {
+            workerSlots.release();
+            dispatch();
+        }
+    }
+
+    /**
+     * 작업 한 건을 변환 → 썸네일/음성 추출 → 등록 → STT → 분석 → 점수 누적 순서로 처리합니다.
+     * 각 단계의 결과는 작업 레코드에 체크포인트로 저장되며, 재시도 시에는 결과가 남아 있는 단계를 건너뛰고 실패한 단계부터 이어서 실행합니다.
+     * 종합 총평은 면접 종료 후 InterviewFinalizeService에서 한 번만 생성합니다.
+     */
+    private void process(Long jobNo) {
+        VideoJobEntity job = getJob(jobNo);
+        File rawFile = new File(job.getRawPath());
+
+        try {
+            // 이 컬럼이 생기기 전에 등록된 작업은 원본 파일에서 해시를 계산합니다.
+            if (job.getContentHash() == null) {
+                job.setContentHash(ModelResultCacheService.sha256(rawFile));
+                job = videoJobRepository.save(job);
+            }
+            String mediaKey = job.getContentHash();
+
+            File mp4File = existingFile(job.getMp4Path());
+            if (mp4File == null) {
+                job = moveTo(job, VideoJobStage.TRANSCODING);
+                // 녹화 중에 조각 단위로 올라온 영상은 이미 변환되어 있으므로 그 결과를 사용합니다.
+                // 변환하면서 음성도 함께 추출했다면 PROBING 단계에서 음성은 다시 추출하지 않습니다.
+                File liveAudio = null;
+                mp4File = liveTranscodeService.takeResult(job.getRawPath());
+                if (mp4File != null) {
+                    liveAudio = existingFile(videoProcessingService.liveAudioFileOf(mp4File).getPath());
+                } else {
+                    mp4File = videoProcessingService.saveVideoAsMp4(rawFile);
+                }
+                job.setMp4Path(mp4File.getPath());
+                job.setAudioPath(liveAudio != null ? liveAudio.getPath() : null); // 이전 변환 파일에서 추출한 결과는 다시 만듭니다.
+                job.setThumbnailPath(null);
+                job = videoJobRepository.save(job);
+            }
+
+            MediaProbeResultDto probe = restoreProbe(job);
+            if (probe == null) {
+                job = moveTo(job, VideoJobStage.PROBING);
+                probe = videoProcessingService.probeVideo(mp4File, existingFile(job.getAudioPath()));
+                if (probe.getAudioFile() == null) {
+                    // 다시 시도해도 결과가 같으므로 재시도하지 않습니다.
+                    throw new IllegalArgumentException("영상에 음성 트랙이 없습니다.");
+                }
+                job.setThumbnailPath(probe.getThumbnailFile() != null ? probe.getThumbnailFile().getPath() : null);
+                job.setAudioPath(probe.getAudioFile().getPath());
+                job.setTotalFrames(probe.getTotalFrames());
+                job.setDurationMicros(probe.getDurationMicros());
+                job = videoJobRepository.save(job);
+            }
+
+            Long videoNo = job.getVideoNO();
+            if (videoNo == null) {
+                job = moveTo(job, VideoJobStage.REGISTERING);
+                videoNo = videoProcessingService.registerVideo(job.getInterviewNO(), job.getQuestionNO(), mp4File, probe);
+                job.setVideoNO(videoNo);
+                job = videoJobRepository.save(job);
+            }
+
+            JsonNode answer = readSttResult(job);
+            if (answer == null) {
+                job = moveTo(job, VideoJobStage.STT);
+                answer = videoProcessingService.callSttApi(probe.getAudioFile().getPath(), mediaKey);
+                if (answer == null) {
+                    throw new IOException("STT 결과를 받지 못했습니다.");
+                }
+                job.setSttResult(answer.toString());
+                job = videoJobRepository.save(job);
+            }
+
+            if (!videoProcessingService.isAnalysisDone(videoNo)) {
+                job = moveTo(job, VideoJobStage.ANALYSIS);
+                videoProcessingService.analyzeVideo(job.getInterviewNO(), job.getQuestionNO(), videoNo, mp4File.getPath(), answer, mediaKey);
+            }
+
+            // 같은 영상은 한 번만 더해지므로 재시도 시에도 그대로 실행합니다.
+            job = moveTo(job, VideoJobStage.AGGREGATE);
+            videoProcessingService.accumulateInterviewAggregate(job.getInterviewNO(), videoNo);
+
+            if (hlsPackagingService.isEnabled() && !HlsPackagingService.isPackaged(mp4File)) {
+                job = moveTo(job, VideoJobStage.PACKAGING);
+                try {
+                    hlsPackagingService.packageVideo(mp4File);
+                } catch (IOException | RuntimeException e) {
+                    // HLS가 없으면 플레이어는 MP4를 그대로 재생하므로 작업을 실패로 만들지 않습니다.
+                    System.out.println("Warning: HLS 패키징 실패, MP4로만 재생합니다. jobNo=" + job.getJobNO() + ": " + e.getMessage());
+                }
+            }
+
+            job.setStage(VideoJobStage.COMPLETED);
+            job.setStatus(VideoJobStatus.DONE);
+            job.setNextAttemptAt(null);
+            job.setErrorMessage(null);
+            job.setSttResult(null); // 분석 결과에 저장되었으므로 더 이상 필요하지 않습니다.
+            videoJobRepository.save(job);
+
+            if (!rawFile.delete()) {
+                System.out.println("Warning: 원본 파일 삭제에 실패했습니다: " + rawFile.getPath());
+            }
+        } catch (Exception e) {
+            System.err.println("[VideoJobService] 영상 처리 실패 jobNo=" + jobNo + ", stage=" + job.getStage());
+            e.printStackTrace();
+            handleFailure(job, e);
+        }
+
+        // 면접 종료가 요청된 상태에서 마지막 답변이었다면 종합 총평 생성이 시작됩니다. (재시도 대기 중이면 아무것도 하지 않음)
+        interviewFinalizeService.onAnswerJobFinished(job.getInterviewNO());
+    }
+
+    /**
+     * 실패한 작업을 재시도 대기열로 돌리거나, 재시도 횟수를 모두 썼다면 FAILED로 종료합니다.
+     * 재시도할 때는 체크포인트 파일을 그대로 두어 실패한 단계부터 이어서 실행합니다.
+     * IllegalArgumentException (음성 없음, 질문 없음 등)은 다시 시도해도 같은 결과이므로 바로 종료합니다.
+     */
+    private void handleFailure(VideoJobEntity job, Exception e) {
+        int attempts = (job.getAttempts() != null ? job.getAttempts() : 0) + 1;
+        job.setAttempts(attempts);
+        job.setErrorMessage(truncate(e.getMessage()));
+
+        if (!(e instanceof IllegalArgumentException) && attempts < maxAttempts) {
+            long delaySeconds = retryDelaySeconds(attempts, retryBaseSeconds, retryMaxSeconds);
+            job.setStatus(VideoJobStatus.QUEUED);
+            job.setNextAttemptAt(LocalDateTime.now().plusSeconds(delaySeconds));
+            videoJobRepository.save(job);
+            System.out.println("[VideoJobService] 재시도 예약 jobNo=" + job.getJobNO() + ", stage=" + job.getStage()
+                    + ", attempt=" + attempts + "/" + maxAttempts + ", " + delaySeconds + "s 후");
+            return;
+        }
+
+        // VideoEntity로 등록되기 전에 실패했다면 만들어진 파일은 참조하는 곳이 없으므로 삭제합니다.
+        if (job.getVideoNO() == null) {
+            deleteQuietly(job.getMp4Path());
+            deleteQuietly(job.getThumbnailPath());
+            if (job.getMp4Path() != null) {
+                File mp4File = new File(job.getMp4Path());
+                deleteQuietly(PreviewTrackService.spriteFileOf(mp4File).getPath());
+                deleteQuietly(PreviewTrackService.vttFileOf(mp4File).getPath());
+            }
+        } else if (!videoProcessingService.isAnalysisDone(job.getVideoNO())) {
+            // 분석이 끝난 뒤의 단계(AGGREGATE, PACKAGING)에서 실패했다면 저장된 분석 결과는 그대로 DONE으로 둡니다.
+            videoProcessingService.markAnalysisFailed(job.getVideoNO());
+        }
+        deleteQuietly(job.getAudioPath());
+        job.setStatus(VideoJobStatus.FAILED);
+        job.setNextAttemptAt(null);
+        videoJobRepository.save(job);
+    }
+
+    /**
+     * n번째 실패 후 다음 시도까지 기다릴 시간. base * 2^(n-1)초이며 max초를 넘지 않습니다.
+     * (시프트는 20번까지만 하므로 실패 횟수가 커져도 넘치지 않습니다)
+     */
+    static long retryDelaySeconds(int attempts, long baseSeconds, long maxSeconds) {
+        return Math.min(maxSeconds, baseSeconds << Math.min(Math.max(attempts, 1) - 1, 20));
+    }
+
+    // 단계가 바뀌면 실패 횟수를 새로 셉니다. (재시도는 단계별로 maxAttempts번까지)
+    private VideoJobEntity moveTo(VideoJobEntity job, VideoJobStage stage) {
+        if (job.getStage() != stage) {
+            job.setAttempts(0);
+        }
+        job.setStage(stage);
+        return videoJobRepository.save(job);
+    }
+
+    // PROBING 체크포인트가 있고 만들어진 파일이 남아 있으면 다시 추출하지 않고 복원합니다.
+    private MediaProbeResultDto restoreProbe(VideoJobEntity job) {
+        File audioFile = existingFile(job.getAudioPath());
+        if (audioFile == null || job.getTotalFrames() == null || job.getDurationMicros() == null) {
+            return null;
+        }
+        File thumbnailFile = existingFile(job.getThumbnailPath());
+        if (job.getThumbnailPath() != null && thumbnailFile == null) {
+            return null;
+        }
+        return new MediaProbeResultDto(thumbnailFile, job.getTotalFrames(), job.getDurationMicros(), audioFile);
+    }
+
+    private JsonNode readSttResult(VideoJobEntity job) {
+        if (job.getSttResult() == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readTree(job.getSttResult());
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static File existingFile(String path) {
+        if (path == null) {
+            return null;
+        }
+        File file = new File(path);
+        return file.isFile() ? file : null;
+    }
+
+    private static void deleteQuietly(String path) {
+        File file = existingFile(path);
+        if (file != null && !file.delete()) {
+            System.out.println("Warning: 파일 삭제에 실패했습니다: " + file.getPath());
+        }
+    }
+
+    static String extensionOf(String fileName) {
+        if (fileName == null) {
+            return ".webm";
+        }
+        int dot = fileName.lastIndexOf('.');
+        String extension = dot >= 0 ? fileName.substring(dot + 1) : "";
+        // 경로 조작을 막기 위해 영문/숫자로 된 확장자만 사용합니다.
+        return extension.matches("[A-Za-z0-9]{1,8}") ? "." + extension : ".webm";
+    }
+
+    private static String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() > 1000 ? message.substring(0, 1000) : message;
+    }
+}
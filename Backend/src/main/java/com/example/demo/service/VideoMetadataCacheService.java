@@ -0,0 +1,103 @@
+package com.example.demo.service;
+
+import com.example.demo.domain.VideoEntity;
+import com.example.demo.repository.VideoRepository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 스트리밍 요청마다 DB 조회와 파일 시스템 호출을 하지 않도록 영상 파일 정보를 메모리에 보관합니다.
+ * 영상 하나를 재생하는 동안 Range 요청이 수십 번 오므로 첫 요청에서만 DB와 파일을 확인합니다.
+ * 최대 항목 수를 넘으면 가장 오래 사용하지 않은 항목부터 버리며 (LRU),
+ * VideoEntity가 수정/삭제되면 VideoMetadataInvalidationListener가 해당 항목을 지웁니다.
+ */
+@Service
+public class VideoMetadataCacheService {
+
+    /**
+     * 스트리밍에 필요한 영상 파일 정보
+     * @param path MP4 파일 경로
+     * @param length 파일 크기 (bytes)
+     * @param lastModified 수정 시각 (초 단위로 자른 epoch millis, HTTP 날짜 정밀도)
+     * @param contentType 응답 Content-Type
+     */
+    public record VideoFileMeta(Path path, long length, long lastModified, String contentType) {
+
+        public String etag() {
+            return "\"" + Long.toHexString(length) + "-" + Long.toHexString(lastModified) + "\"";
+        }
+    }
+
+    private final VideoRepository videoRepository;
+    private final LinkedHashMap<Long, VideoFileMeta> entries;
+
+    public VideoMetadataCacheService(VideoRepository videoRepository,
+                                     @Value("${video.metadata-cache.max-entries:1000}") int maxEntries) {
+        this.videoRepository = videoRepository;
+        this.entries = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, VideoFileMeta> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * 영상 파일 정보를 반환합니다. 캐시에 없으면 DB와 파일을 확인한 뒤 저장합니다.
+     * @param videoNo VideoEntity의 PK
+     * @return 영상 파일 정보
+     * @throws IllegalArgumentException 영상이 없거나 파일을 읽을 수 없는 경우
+     */
+    public VideoFileMeta get(Long videoNo) {
+        synchronized (entries) {
+            VideoFileMeta cached = entries.get(videoNo);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        VideoEntity video = videoRepository.findById(videoNo)
+                .orElseThrow(() -> new IllegalArgumentException("영상을 찾을 수 없습니다. ID: " + videoNo));
+        Path path = Paths.get(video.getVideoDir());
+        if (!Files.isRegularFile(path) || !Files.isReadable(path)) {
+            throw new IllegalArgumentException("영상 파일을 읽을 수 없습니다. ID: " + videoNo);
+        }
+
+        VideoFileMeta meta;
+        try {
+            meta = new VideoFileMeta(path, Files.size(path),
+                    Files.getLastModifiedTime(path).toMillis() / 1000 * 1000,
+                    MediaTypeFactory.getMediaType(path.getFileName().toString())
+                            .orElse(MediaType.APPLICATION_OCTET_STREAM).toString());
+        } catch (IOException e) {
+            throw new IllegalArgumentException("영상 파일을 읽을 수 없습니다. ID: " + videoNo, e);
+        }
+
+        synchronized (entries) {
+            entries.put(videoNo, meta);
+        }
+        return meta;
+    }
+
+    /**
+     * 영상이 수정/삭제되었거나 파일이 사라졌을 때 캐시 항목을 지웁니다.
+     */
+    public void invalidate(Long videoNo) {
+        if (videoNo == null) {
+            return;
+        }
+        synchronized (entries) {
+            entries.remove(videoNo);
+        }
+    }
+}
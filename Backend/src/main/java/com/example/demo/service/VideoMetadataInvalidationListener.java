@@ -0,0 +1,30 @@
+package com.example.demo.service;
+
+import com.example.demo.domain.VideoEntity;
+
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+/**
+ * VideoEntity가 JPA로 수정/삭제되면 스트리밍용 영상 정보 캐시에서 해당 항목을 지웁니다.
+ * Hibernate가 Spring 빈으로 생성하므로 캐시 서비스를 주입받을 수 있습니다.
+ */
+@Component
+public class VideoMetadataInvalidationListener {
+
+    private final VideoMetadataCacheService videoMetadataCacheService;
+
+    // EntityManagerFactory 생성 중에 만들어지므로 캐시 서비스(→ VideoRepository)는 처음 사용할 때 가져옵니다.
+    public VideoMetadataInvalidationListener(@Lazy VideoMetadataCacheService videoMetadataCacheService) {
+        this.videoMetadataCacheService = videoMetadataCacheService;
+    }
+
+    @PostUpdate
+    @PostRemove
+    public void onChange(VideoEntity video) {
+        videoMetadataCacheService.invalidate(video.getVideoNO());
+    }
+}
@@ -2,11 +2,13 @@ package com.example.demo.service;
 
 import jakarta.annotation.PostConstruct;
 import com.example.demo.domain.AnalysisEntity;
+import com.example.demo.domain.AnalysisStatus;
 import com.example.demo.domain.InterviewEntity;
 import com.example.demo.domain.QuestionEntity;
 import com.example.demo.domain.UserEntity;
 import com.example.demo.domain.VideoEntity;
 import com.example.demo.dto.InterviewWithVideosDto;
+import com.example.demo.dto.MediaProbeResultDto;
 import com.example.demo.dto.VideoInfoDto;
 import com.example.demo.repository.AnalysisRepository;
 import com.example.demo.repository.InterviewRepository;
@@ -16,9 +18,6 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import lombok.RequiredArgsConstructor;
-import org.bytedeco.javacv.FFmpegFrameGrabber;
-import org.bytedeco.javacv.Frame;
-import org.bytedeco.javacv.Java2DFrameConverter;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.FileSystemResource;
 import org.springframework.http.HttpEntity;
@@ -27,18 +26,19 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 import org.springframework.web.client.RestTemplate;
-import org.springframework.web.multipart.MultipartFile;
 
-import javax.imageio.ImageIO;
-import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -61,14 +61,25 @@ public class VideoProcessingService {
     // --- 5단계 구현 (추가된 부분) ---
     private final AnalysisRepository analysisRepository;
     // -----------------------------
+    // 원격 호출 앞뒤로 짧은 트랜잭션을 나누어 실행하기 위해 사용합니다.
+    private final TransactionTemplate transactionTemplate;
     private final VideoConversionService videoConversionService;
+    private final MediaProbeService mediaProbeService;
     private final RestTemplate restTemplate;
+    private final ModelResultCacheService modelResultCacheService;
 
     // --- 설정값 주입 ---
     
     @Value("${fastapi.server.url}")
     private String fastapiUrl;
 
+    @Value("${model.stt.url}")
+    private String sttUrl;
+
+    // STT 모델이나 음성 추출 설정이 바뀌면 올려서 이전 캐시를 무효화합니다.
+    @Value("${model.stt.version:1}")
+    private String sttVersion;
+
     // 1. application.properties에서 파일 저장 경로를 주입받습니다.
     @Value("${file.storage.path}")
     private String storagePath;
@@ -86,277 +97,316 @@ public class VideoProcessingService {
         }
     }
 
-    @Transactional
-    public void processAndAnalyzeVideo(Long interviewNo, Long questionNo, MultipartFile videoFile) throws IOException {
+    /**
+     * MP4 파일을 한 번 열어 썸네일, 총 프레임 수, 재생 시간, 음성 파일을 추출합니다.
+     * @param savedMp4File 영구 저장 경로에 저장된 MP4 파일
+     * @return 추출 결과 (썸네일과 음성 파일은 저장 경로에 생성됩니다)
+     * @throws IOException 추출 중 오류 발생 시
+     */
+    public MediaProbeResultDto probeVideo(File savedMp4File) throws IOException {
+        return mediaProbeService.probe(savedMp4File, this.storageDirectory);
+    }
 
-        // 1~5 단계 (기존 코드 유지)
-        File savedMp4File = saveVideoAsMp4(videoFile);
+    /**
+     * 녹화 중 변환에서 이미 추출한 음성 파일이 있으면 음성은 다시 디코딩하지 않고 나머지만 추출합니다.
+     * @param savedMp4File 영구 저장 경로에 저장된 MP4 파일
+     * @param extractedAudio 이미 추출한 음성 파일 (없으면 null)
+     */
+    public MediaProbeResultDto probeVideo(File savedMp4File, File extractedAudio) throws IOException {
+        return mediaProbeService.probe(savedMp4File, this.storageDirectory, extractedAudio);
+    }
 
-        try {
-            File thumbnailFile = extractThumbnail(savedMp4File);
-            int totalFrames = getTotalFrames(savedMp4File);
+    /**
+     * 녹화 중 변환이 MP4와 함께 쓴 음성 파일의 경로. 리먹싱한 경우 등에는 파일이 없습니다.
+     */
+    public File liveAudioFileOf(File mp4File) {
+        return mediaProbeService.audioFileOf(mp4File);
+    }
 
-            InterviewEntity interview = interviewRepository.findById(interviewNo)
-                    .orElseThrow(() -> new IllegalArgumentException("요청한 면접 회차를 찾을 수 없습니다. ID: " + interviewNo));
-
-            QuestionEntity question = questionRepository.findById(questionNo)
-                    .orElseThrow(() -> new IllegalArgumentException("요청한 질문을 찾을 수 없습니다. ID: " + questionNo));
-
-            VideoEntity videoEntity = VideoEntity.builder()
-                    .interview(interview)
-                    .question(question)
-                    .videoDir(savedMp4File.getPath())
-                    .thumbnailDir(thumbnailFile.getPath())
-                    .frames(totalFrames)
-                    .build();
-
-            VideoEntity savedVideoEntity = videoRepository.save(videoEntity);
-            videoRepository.flush();
-
-            // 6. mp3 추출
-            System.out.println("3. mp3 추출");
-            String mp3Path = extractMp3FromVideo(savedVideoEntity.getVideoDir());
-            System.out.println(mp3Path);
-
-            // 7. STT API 호출
-            System.out.println("4. STT API 호출하여 답변 내용 생성");
-            JsonNode answer = callSttApi(mp3Path);
-            System.out.println(answer);
-
-            // 8. 분석 서비스 호출 (여러 API 호출 및 결과 저장)
-            System.out.println("5. 분석 서비스 호출 (여러 API 호출 및 결과 저장)");
-            analysisService.analyzeAll(savedVideoEntity.getVideoNO(), savedVideoEntity.getVideoDir(), question.getContent(), answer, interviewNo);
-            
-            // 해당 인터뷰에 속한 모든 영상 조회 및 개수 확인
-            List<VideoEntity> videosForInterview = videoRepository.findAllWithAnalysisByInterviewNo(interviewNo);
-
-            if (videosForInterview.size() >= 3) {
-                System.out.println("3개 이상이라 총평 호출");
-                ObjectMapper mapper = new ObjectMapper();
-                List<Map<String, Object>> extractedDataList = new ArrayList<>();
-
-                for (VideoEntity video : videosForInterview) {
-                    AnalysisEntity analysis = video.getAnalysis();
-                    if (analysis != null && analysis.getAnswer() != null) {
-                        JsonNode answerNode = mapper.readTree(analysis.getAnswer());
-                        JsonNode emotionNode = mapper.readTree(analysis.getEmotion());
-                        JsonNode visionNode = mapper.readTree(analysis.getVision());
-
-                        Map<String, Object> item = new HashMap<>();
-                        item.put("overall", answerNode.path("overall").asText());
-                        item.put("score", answerNode.path("score").asDouble());
-                        item.put("emotion_avg", emotionNode.path("average_score").asDouble());
-                        item.put("vision_avg", visionNode.path("average_score").asDouble());
-                        extractedDataList.add(item);
-                    }
-                }
+    /**
+     * 변환된 MP4 파일과 추출 결과(썸네일, 총 프레임 수)를 VideoEntity로 저장합니다.
+     * @param interviewNo 면접 회차의 ID
+     * @param questionNo 질문의 ID
+     * @param savedMp4File 영구 저장 경로에 저장된 MP4 파일
+     * @param probe probeVideo의 결과
+     * @return 저장된 VideoEntity의 PK
+     */
+    @Transactional
+    public Long registerVideo(Long interviewNo, Long questionNo, File savedMp4File, MediaProbeResultDto probe) {
+        InterviewEntity interview = interviewRepository.findById(interviewNo)
+                .orElseThrow(() -> new IllegalArgumentException("요청한 면접 회차를 찾을 수 없습니다. ID: " + interviewNo));
 
-                String jsonInput = mapper.writeValueAsString(extractedDataList);
-                String llmResult = analysisService.callLlmAggregateApi(jsonInput, interviewNo);
+        QuestionEntity question = questionRepository.findById(questionNo)
+                .orElseThrow(() -> new IllegalArgumentException("요청한 질문을 찾을 수 없습니다. ID: " + questionNo));
 
-                InterviewEntity interviews = interviewRepository.findById(interviewNo)
-                    .orElseThrow(() -> new IllegalArgumentException("인터뷰를 찾을 수 없습니다. ID: " + interviewNo));
+        VideoEntity videoEntity = VideoEntity.builder()
+                .interview(interview)
+                .question(question)
+                .videoDir(savedMp4File.getPath())
+                .thumbnailDir(probe.getThumbnailFile().getPath())
+                .frames(probe.getTotalFrames())
+                .analysisStatus(AnalysisStatus.PENDING)
+                .build();
 
-                // 이전 인터뷰 중 가장 최근 1건 조회 (userId, interviewNo 제외)
-                UserEntity user = interviews.getUser();
-                if (user == null) {
-                    throw new IllegalArgumentException("해당 인터뷰에 연결된 사용자가 없습니다.");
-                }
-                String userId = user.getId(); // UserEntity의 ID가 String 타입일 경우
-
-                Optional<InterviewEntity> recentInterviewOpt = interviewRepository.findTopByUser_IdAndInterviewNONotOrderByInterviewDateDesc(userId, interviewNo);
-
-
-
-                double prevEmotionAvg = 0.0;
-                double prevVisionAvg = 0.0;
-                double prevScoreAvg = 0.0;
-
-                if (recentInterviewOpt.isPresent()) {
-                    InterviewEntity recentInterview = recentInterviewOpt.get();
-                    List<VideoEntity> prevVideos = videoRepository.findAllWithAnalysisByInterviewNo(recentInterview.getInterviewNO());
-
-                    prevEmotionAvg = prevVideos.stream()
-                        .map(VideoEntity::getAnalysis)
-                        .filter(a -> a != null && a.getEmotion() != null)
-                        .mapToDouble(a -> {
-                            try {
-                                return mapper.readTree(a.getEmotion()).path("average_score").asDouble();
-                            } catch (Exception e) {
-                                return 0;
-                            }
-                        }).average().orElse(0);
-
-                    prevVisionAvg = prevVideos.stream()
-                        .map(VideoEntity::getAnalysis)
-                        .filter(a -> a != null && a.getVision() != null)
-                        .mapToDouble(a -> {
-                            try {
-                                return mapper.readTree(a.getVision()).path("average_score").asDouble();
-                            } catch (Exception e) {
-                                return 0;
-                            }
-                        }).average().orElse(0);
-
-                    prevScoreAvg = prevVideos.stream()
-                        .map(VideoEntity::getAnalysis)
-                        .filter(a -> a != null && a.getAnswer() != null)
-                        .mapToDouble(a -> {
-                            try {
-                                return mapper.readTree(a.getAnswer()).path("score").asDouble();
-                            } catch (Exception e) {
-                                return 0;
-                            }
-                        }).average().orElse(0);
-                }
+        return videoRepository.save(videoEntity).getVideoNO();
+    }
 
-                double currEmotionAvg = extractedDataList.stream()
-                    .mapToDouble(m -> (double) m.get("emotion_avg"))
-                    .average().orElse(0);
-
-                double currVisionAvg = extractedDataList.stream()
-                    .mapToDouble(m -> (double) m.get("vision_avg"))
-                    .average().orElse(0);
-
-                double currScoreAvg = extractedDataList.stream()
-                    .mapToDouble(m -> (double) m.get("score"))
-                    .average().orElse(0);
-
-                Map<String, Object> comparePayload = new HashMap<>();
-                comparePayload.put("previous_interview", Map.of(
-                    "emotion_avg", prevEmotionAvg,
-                    "vision_avg", prevVisionAvg,
-                    "score_avg", prevScoreAvg
-                ));
-                comparePayload.put("current_interview", Map.of(
-                    "emotion_avg", currEmotionAvg,
-                    "vision_avg", currVisionAvg,
-                    "score_avg", currScoreAvg
-                ));
-
-                String compareJson = mapper.writeValueAsString(comparePayload);
-
-                String compareResult = analysisService.callLlmCompareApi(compareJson, interviewNo);
-
-                Map<String, Object> combinedResult = new HashMap<>();
-
-                if (recentInterviewOpt.isPresent()) {
-                    // 이전 인터뷰가 있을 경우 (비교 결과 포함)
-                    combinedResult.put("overallcompare", llmResult);
-                    combinedResult.put("comparison", compareResult);
-                } else {
-                    // 이전 인터뷰가 없을 경우 (종합분석만 저장)
-                    combinedResult.put("overallcompare", llmResult);
-                }
+    /**
+     * STT 결과를 바탕으로 분석 서비스(감정/LLM/시선 분석 및 결과 저장)를 호출합니다.
+     * @param interviewNo 면접 회차의 ID
+     * @param questionNo 질문의 ID
+     * @param videoNo 분석 대상 VideoEntity의 PK
+     * @param videoPath 분석 대상 MP4 파일 경로
+     * @param answer STT API 응답 (text, timeline)
+     * @param mediaKey 원본 영상의 내용 해시 (모델 결과 캐시 키)
+     */
+    public void analyzeVideo(Long interviewNo, Long questionNo, Long videoNo, String videoPath, JsonNode answer, String mediaKey) {
+        QuestionEntity question = questionRepository.findById(questionNo)
+                .orElseThrow(() -> new IllegalArgumentException("요청한 질문을 찾을 수 없습니다. ID: " + questionNo));
 
-                String combinedJsonString = mapper.writeValueAsString(combinedResult);
+        videoRepository.markAnalysisStarted(videoNo, LocalDateTime.now());
+        analysisService.analyzeAll(videoNo, videoPath, question.getContent(), answer, interviewNo, mediaKey);
+    }
 
-                interviews.setInterviewOverall(combinedJsonString);
-                interviewRepository.save(interviews);
-            }
+    /**
+     * 영상의 분석이 이미 끝났는지 확인합니다. (작업 재시도 시 ANALYSIS 단계를 건너뛰기 위해 사용)
+     * @param videoNo VideoEntity의 PK
+     */
+    public boolean isAnalysisDone(Long videoNo) {
+        return videoRepository.findById(videoNo)
+                .map(video -> video.getAnalysisStatus() == AnalysisStatus.DONE)
+                .orElse(false);
+    }
 
+    /**
+     * 분석 파이프라인이 실패했음을 영상의 분석 상태에 기록합니다.
+     * @param videoNo 실패한 VideoEntity의 PK
+     */
+    public void markAnalysisFailed(Long videoNo) {
+        videoRepository.markAnalysisFinished(videoNo, AnalysisStatus.FAILED, LocalDateTime.now());
+    }
 
-        } catch (Exception e) {
-            if (!savedMp4File.delete()) {
-                System.out.println("Warning: 임시 파일 삭제에 실패했습니다: " + savedMp4File.getPath());
-            }
-            throw new IOException("영상 처리 중 오류가 발생했습니다.", e);
+    /**
+     * 분석이 끝난 답변 영상 1개의 점수를 면접 누적값에 더합니다.
+     * 같은 영상이 다시 처리되더라도 한 번만 더해지며, 누적값이 없는 (도입 이전) 면접은 이번에 한 번 전체를 계산합니다.
+     * 면접 엔티티를 읽어 저장하지 않고 조건부 UPDATE만 사용하므로, 동시에 끝난 다른 답변이나 종료 요청의 변경을 덮어쓰지 않습니다.
+     * @param interviewNo 면접 회차의 ID
+     * @param videoNo 분석이 끝난 VideoEntity의 PK
+     */
+    @Transactional
+    public void accumulateInterviewAggregate(Long interviewNo, Long videoNo) {
+        AnalysisEntity analysis = analysisRepository.findByVideoNO(videoNo).orElse(null);
+        if (analysis == null) {
+            return;
+        }
+        InterviewEntity interview = interviewRepository.findById(interviewNo)
+            .orElseThrow(() -> new IllegalArgumentException("인터뷰를 찾을 수 없습니다. ID: " + interviewNo));
+        if (interview.getAnalyzedCount() == null && backfillAggregate(interviewNo)) {
+            // 이 영상도 전체 계산에 포함되었습니다.
+            return;
+        }
+        if (analysisRepository.markAggregated(videoNo) == 1) {
+            interviewRepository.addAnalysisAggregate(interviewNo,
+                orZero(analysisService.answerScoreOf(analysis)),
+                orZero(analysisService.emotionScoreOf(analysis)),
+                orZero(analysisService.visionScoreOf(analysis)));
         }
     }
 
     /**
-     * MultipartFile을 받아 MP4로 변환하고, 설정된 영구 저장 경로에 저장합니다.
-     * @param multipartFile 클라이언트로부터 받은 원본 동영상 파일
-     * @return 서버에 최종적으로 저장된 MP4 파일 객체
-     * @throws IOException 파일 변환 또는 저장 중 오류 발생 시
+     * 누적값이 없는 (도입 이전) 면접은 분석된 영상 전체로 한 번 계산해 저장해 둡니다. (이후에는 저장된 값을 그대로 사용)
+     * 누적값은 아직 null일 때만 쓰는 조건부 UPDATE로 저장하므로, 두 작업이 동시에 계산해도 한 쪽만 반영됩니다.
+     * 진 쪽의 UPDATE는 이긴 쪽이 커밋할 때까지 행 잠금을 기다리므로, 그 뒤에 하는 영상별 누적은 중복되지 않습니다.
+     * UPDATE가 영속성 컨텍스트를 비우므로 호출한 쪽은 면접 엔티티를 다시 읽어야 합니다.
+     * @return 이번 호출이 누적값을 저장했으면 true
      */
-    private File saveVideoAsMp4(MultipartFile multipartFile) throws IOException {
-        // 1. VideoConversionService를 사용하여 MP4로 변환합니다.
-        //    이 서비스는 내부에 임시 파일을 생성하고 변환 후 삭제하는 로직을 포함합니다.
-        File tempConvertedMp4 = videoConversionService.convertToMp4(multipartFile);
-
-        // 2. 저장할 파일의 고유한 이름을 생성합니다. (UUID 사용)
-        String uniqueFileName = UUID.randomUUID() + ".mp4";
-
-        // 3. 최종 저장 경로를 설정합니다. (예: C:/ai_interview/storage/a1b2c3d4.mp4)
-        Path destinationPath = this.storageDirectory.resolve(uniqueFileName);
-
-        try {
-            // 4. 변환된 임시 파일을 최종 목적지로 이동(move)시킵니다.
-            Files.move(tempConvertedMp4.toPath(), destinationPath);
-        } finally {
-            // 5. 만약 이동 중 오류가 발생해도 임시 파일이 남지 않도록 한번 더 삭제를 시도합니다.
-            if (tempConvertedMp4.exists()) {
-                if (!tempConvertedMp4.delete()) {
-                    // log.warn("임시 파일 삭제에 실패했습니다: {}", savedMp4File.getPath());
-                    System.out.println("Warning: 임시 파일 삭제에 실패했습니다: " + tempConvertedMp4.getPath());
-                }
-            }
+    private boolean backfillAggregate(Long interviewNo) {
+        List<AnalysisEntity> analyses = videoRepository.findAllWithAnalysisByInterviewNo(interviewNo).stream()
+            .map(VideoEntity::getAnalysis)
+            .toList();
+        double scoreSum = 0.0;
+        double emotionSum = 0.0;
+        double visionSum = 0.0;
+        for (AnalysisEntity analysis : analyses) {
+            scoreSum += orZero(analysisService.answerScoreOf(analysis));
+            emotionSum += orZero(analysisService.emotionScoreOf(analysis));
+            visionSum += orZero(analysisService.visionScoreOf(analysis));
         }
-
-        // 최종적으로 저장된 파일의 File 객체를 반환합니다.
-        return destinationPath.toFile();
+        if (interviewRepository.initAnalysisAggregate(interviewNo, analyses.size(), scoreSum, emotionSum, visionSum) == 0) {
+            return false;
+        }
+        for (AnalysisEntity analysis : analyses) {
+            analysisRepository.markAggregated(analysis.getVideoNO());
+        }
+        return true;
     }
 
+    // 누적값이 없으면 한 번 계산해 저장하고, 저장된 값을 다시 읽어 반환합니다.
+    private InterviewEntity withAggregate(InterviewEntity interview) {
+        if (interview.getAnalyzedCount() != null) {
+            return interview;
+        }
+        backfillAggregate(interview.getInterviewNO());
+        return interviewRepository.findById(interview.getInterviewNO())
+            .orElseThrow(() -> new IllegalArgumentException("인터뷰를 찾을 수 없습니다. ID: " + interview.getInterviewNO()));
+    }
 
     /**
-     * 동영상 파일에서 특정 프레임(예: 1초 지점)을 추출하여 썸네일 이미지 파일로 저장합니다.
-     * @param videoFile 썸네일을 추출할 원본 동영상 파일 (MP4)
-     * @return 서버에 저장된 썸네일 파일 객체
-     * @throws IOException 프레임 추출 또는 이미지 저장 중 오류 발생 시
+     * 종합 총평과 이전 면접 비교 결과를 생성해 저장합니다. 면접 종료 후 InterviewFinalizeService에서 한 번 호출됩니다.
+     * 분석된 답변이 없으면 아무것도 하지 않습니다. 점수 평균은 면접별 누적값에서 읽으므로 영상별 분석 결과를 다시 집계하지 않습니다.
+     * LLM 호출은 트랜잭션 밖에서 실행하고, 입력 조회와 결과 저장만 각각 짧은 트랜잭션으로 처리합니다.
+     * @param interviewNo 면접 회차의 ID
+     * @throws IOException 분석 결과 파싱 중 오류 발생 시
      */
-    private File extractThumbnail(File videoFile) throws IOException {
-        String thumbnailFileName = videoFile.getName().replace(".mp4", ".png");
-        Path thumbnailPath = this.storageDirectory.resolve(thumbnailFileName);
+    public void updateInterviewOverall(Long interviewNo) throws IOException {
+        // 1. 입력 준비 (짧은 트랜잭션)
+        OverallRequest request = transactionTemplate.execute(status -> prepareOverallRequest(interviewNo));
+        if (request == null) {
+            return;
+        }
+
+        // 2. LLM 호출 (트랜잭션 없음)
+        String llmResult = analysisService.callLlmAggregateApi(request.aggregateJson(), interviewNo);
 
-        // --- 수정된 부분: 두 개의 리소스를 한 번에 관리 ---
-        try (FFmpegFrameGrabber grabber = new FFmpegFrameGrabber(videoFile);
-             Java2DFrameConverter converter = new Java2DFrameConverter()) {
+        Map<String, Object> combinedResult = new HashMap<>();
+        combinedResult.put("overallcompare", llmResult);
+        if (request.compareJson() != null) {
+            // 이전 인터뷰가 있을 경우에만 비교 분석을 호출해 결과에 포함
+            combinedResult.put("comparison", analysisService.callLlmCompareApi(request.compareJson(), interviewNo));
+        }
+        String combinedJsonString = new ObjectMapper().writeValueAsString(combinedResult);
 
-            grabber.start();
+        // 3. 결과 저장 (짧은 트랜잭션)
+        transactionTemplate.executeWithoutResult(status -> {
+            InterviewEntity interview = interviewRepository.findById(interviewNo)
+                .orElseThrow(() -> new IllegalArgumentException("인터뷰를 찾을 수 없습니다. ID: " + interviewNo));
+            interview.setInterviewOverall(combinedJsonString);
+        });
+    }
 
-            grabber.setTimestamp(1_000_000); // 1초
-            Frame frame = grabber.grabImage();
+    // 종합 총평 / 이전 면접 비교 LLM 요청 본문 (비교할 이전 면접이 없으면 compareJson은 null)
+    private record OverallRequest(String aggregateJson, String compareJson) {
+    }
 
-            if (frame == null) {
-                throw new IOException("썸네일을 위한 프레임을 잡을 수 없습니다.");
+    private OverallRequest prepareOverallRequest(Long interviewNo) {
+        InterviewEntity interviews = withAggregate(interviewRepository.findById(interviewNo)
+            .orElseThrow(() -> new IllegalArgumentException("인터뷰를 찾을 수 없습니다. ID: " + interviewNo)));
+        if (interviews.getAnalyzedCount() == 0) {
+            return null;
+        }
+        System.out.println("[VideoProcessingService] 종합 총평 호출 interviewNo=" + interviewNo + ", answers=" + interviews.getAnalyzedCount());
+
+        try {
+            ObjectMapper mapper = new ObjectMapper();
+            List<Map<String, Object>> extractedDataList = new ArrayList<>();
+
+            // 종합 총평에는 답변별 overall 문장이 필요하므로 answer만 파싱합니다.
+            for (VideoEntity video : videoRepository.findAllWithAnalysisByInterviewNo(interviewNo)) {
+                AnalysisEntity analysis = video.getAnalysis();
+                if (analysis != null && analysis.getAnswer() != null) {
+                    JsonNode answerNode = mapper.readTree(analysis.getAnswer());
+
+                    Map<String, Object> item = new HashMap<>();
+                    item.put("overall", answerNode.path("overall").asText());
+                    item.put("score", orZero(analysisService.answerScoreOf(analysis)));
+                    item.put("emotion_avg", orZero(analysisService.emotionScoreOf(analysis)));
+                    item.put("vision_avg", orZero(analysisService.visionScoreOf(analysis)));
+                    extractedDataList.add(item);
+                }
             }
+            String jsonInput = mapper.writeValueAsString(extractedDataList);
 
-            BufferedImage bufferedImage = converter.convert(frame);
+            // 이전 인터뷰 중 가장 최근 1건 조회 (userId, interviewNo 제외)
+            UserEntity user = interviews.getUser();
+            if (user == null) {
+                throw new IllegalArgumentException("해당 인터뷰에 연결된 사용자가 없습니다.");
+            }
+            String userId = user.getId(); // UserEntity의 ID가 String 타입일 경우
 
-            if (bufferedImage == null) {
-                throw new IOException("프레임을 이미지로 변환할 수 없습니다.");
+            Optional<InterviewEntity> recentInterviewOpt = interviewRepository.findTopByUser_IdAndInterviewNONotOrderByInterviewDateDesc(userId, interviewNo);
+            if (recentInterviewOpt.isEmpty()) {
+                return new OverallRequest(jsonInput, null);
             }
 
-            ImageIO.write(bufferedImage, "png", thumbnailPath.toFile());
+            // 이전 면접의 평균도 저장된 누적값을 사용합니다. (없으면 한 번 계산해 저장)
+            InterviewEntity recentInterview = withAggregate(recentInterviewOpt.get());
+
+            Map<String, Object> comparePayload = new HashMap<>();
+            comparePayload.put("previous_interview", Map.of(
+                "emotion_avg", recentInterview.getEmotionAvg(),
+                "vision_avg", recentInterview.getVisionAvg(),
+                "score_avg", recentInterview.getScoreAvg()
+            ));
+            comparePayload.put("current_interview", Map.of(
+                "emotion_avg", interviews.getEmotionAvg(),
+                "vision_avg", interviews.getVisionAvg(),
+                "score_avg", interviews.getScoreAvg()
+            ));
+
+            return new OverallRequest(jsonInput, mapper.writeValueAsString(comparePayload));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 
-            // grabber.stop()은 try-with-resources가 자동으로 처리하므로 명시적으로 호출할 필요가 없습니다.
-            // (FFmpegFrameGrabber는 AutoCloseable을 구현하며, close()가 내부적으로 stop()을 호출합니다)
+    private static double orZero(Double value) {
+        return value != null ? value : 0.0;
+    }
 
-        } catch (Exception e) {
-            throw new IOException("썸네일 추출 중 오류가 발생했습니다: " + videoFile.getName(), e);
+    /**
+     * 업로드된 원본 동영상 파일을 MP4로 변환하고, 설정된 영구 저장 경로에 저장합니다.
+     * 변환 결과를 임시 파일을 거치지 않고 저장 경로에 바로 씁니다.
+     * @param sourceFile 서버에 저장된 원본 동영상 파일 (원본은 삭제하지 않습니다)
+     * @return 서버에 최종적으로 저장된 MP4 파일 객체
+     * @throws IOException 파일 변환 또는 저장 중 오류 발생 시
+     */
+    public File saveVideoAsMp4(File sourceFile) throws IOException {
+        // 1. 저장할 파일의 고유한 이름을 생성합니다. (UUID 사용)
+        String uniqueFileName = UUID.randomUUID() + ".mp4";
+
+        // 2. 최종 저장 경로를 설정합니다. (예: C:/ai_interview/storage/a1b2c3d4.mp4)
+        File destinationFile = this.storageDirectory.resolve(uniqueFileName).toFile();
+
+        try {
+            // 3. VideoConversionService를 사용하여 최종 저장 경로에 바로 MP4로 변환합니다.
+            videoConversionService.convertToMp4(sourceFile, destinationFile);
+        } catch (IOException | RuntimeException e) {
+            // 4. 변환 중 오류가 발생하면 쓰다 만 파일이 남지 않도록 삭제합니다.
+            if (destinationFile.exists() && !destinationFile.delete()) {
+                System.out.println("Warning: 변환 실패 파일 삭제에 실패했습니다: " + destinationFile.getPath());
+            }
+            throw e;
         }
 
-        return thumbnailPath.toFile();
+        // 업로드 한 건이 디스크에 쓴 양 (원본 + MP4, 임시 파일/이동 복사 없음)
+        System.out.println("[VideoProcessingService] 업로드 저장: 원본 " + sourceFile.length() + " bytes + MP4 "
+                + destinationFile.length() + " bytes = " + (sourceFile.length() + destinationFile.length()) + " bytes written");
+
+        // 최종적으로 저장된 파일의 File 객체를 반환합니다.
+        return destinationFile;
     }
 
     /**
-     * 동영상 파일의 총 프레임 수를 반환합니다.
-     * @param videoFile 총 프레임 수를 확인할 동영상 파일
-     * @return 총 프레임 수 (int)
-     * @throws IOException 파일 분석 중 오류 발생 시
+     * 입력 스트림의 동영상(녹화 중에 올라오는 업로드 등)을 MP4로 변환하여 영구 저장 경로에 저장합니다.
+     * 트랜스코딩하는 경우 STT용 음성도 같은 디코딩에서 liveAudioFileOf 경로에 씁니다.
+     * @param inputStream 원본 동영상 스트림
+     * @return 서버에 최종적으로 저장된 MP4 파일 객체
+     * @throws IOException 파일 변환 또는 저장 중 오류 발생 시
      */
-    private int getTotalFrames(File videoFile) throws IOException {
-        try (FFmpegFrameGrabber grabber = new FFmpegFrameGrabber(videoFile)) {
-            grabber.start();
-            int totalFrames = grabber.getLengthInFrames();
-            grabber.stop();
-            return totalFrames;
-        } catch (Exception e) {
-            throw new IOException("총 프레임 수 추출 중 오류가 발생했습니다: " + videoFile.getName(), e);
+    public File saveVideoAsMp4(InputStream inputStream) throws IOException {
+        File destinationFile = this.storageDirectory.resolve(UUID.randomUUID() + ".mp4").toFile();
+        try {
+            videoConversionService.convertToMp4(inputStream, destinationFile, liveAudioFileOf(destinationFile));
+        } catch (IOException | RuntimeException e) {
+            if (destinationFile.exists() && !destinationFile.delete()) {
+                System.out.println("Warning: 변환 실패 파일 삭제에 실패했습니다: " + destinationFile.getPath());
+            }
+            throw e;
         }
+        return destinationFile;
     }
 
+
     /**
      * 저장된 영상 파일을 FastAPI 서버로 전송하여 시계열 분석을 요청하고,
      * 결과를 JSON 문자열 형태로 받습니다.
@@ -390,58 +440,34 @@ public class VideoProcessingService {
         return result;
     }
     
-    public String extractMp3FromVideo(String videoPath) throws IOException, InterruptedException {
-        String mp3FileName = UUID.randomUUID() + ".mp3";
-        Path mp3Path = Paths.get(storagePath, mp3FileName);
-        
-        System.out.println("[extractMp3FromVideo] mp3 추출 시작: " + videoPath);
-        
-        String[] command = {
-            "ffmpeg", "-i", videoPath,
-            "-q:a", "0",
-            "-map", "a",
-            "-y", mp3Path.toString()
-        };
-        
-        Process process = new ProcessBuilder(command)
-            .redirectErrorStream(true)
-            .start();
-        
-        try (var reader = new java.io.BufferedReader(new java.io.InputStreamReader(process.getInputStream()))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                System.out.println("[ffmpeg] " + line);
-            }
-        }
-        
-        int exitCode = process.waitFor();
-        System.out.println("[extractMp3FromVideo] FFmpeg 종료 코드: " + exitCode);
-        if (exitCode != 0) {
-            throw new RuntimeException("mp3 추출 실패, 종료 코드: " + exitCode);
-        }
-        
-        System.out.println("[extractMp3FromVideo] mp3 추출 완료: " + mp3Path.toString());
-        return mp3Path.toString();
-    }
-    
- // STT API 호출
-    private JsonNode callSttApi(String mp3FilePath) {
-        String sttApiUrl = "http://172.31.57.139:5002/stt"; // Whisper Flask 서버 주소 및 포트
+ // STT API 호출 (같은 영상의 결과는 캐시에서 반환)
+    public JsonNode callSttApi(String audioFilePath, String mediaKey) {
+        String sttApiUrl = sttUrl + "/stt"; // Whisper Flask 서버
 
-        RestTemplate restTemplate = new RestTemplate();
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
+        String body = modelResultCacheService.getOrCompute("stt", ModelResultCacheService.key("stt", sttVersion, mediaKey), () -> {
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.APPLICATION_JSON);
+
+            // JSON 바디에 파일 경로 전달
+            String jsonBody = "{\"file_path\":\"" + audioFilePath.replace("\\", "\\\\") + "\"}";
 
-        // JSON 바디에 파일 경로 전달
-        String jsonBody = "{\"file_path\":\"" + mp3FilePath.replace("\\", "\\\\") + "\"}";
+            HttpEntity<String> requestEntity = new HttpEntity<>(jsonBody, headers);
 
-        HttpEntity<String> requestEntity = new HttpEntity<>(jsonBody, headers);
+            ResponseEntity<String> response = restTemplate.postForEntity(sttApiUrl, requestEntity, String.class);
 
-        ResponseEntity<String> response = restTemplate.postForEntity(sttApiUrl, requestEntity, String.class);
+            // JSON이 아닌 응답은 캐시에 남기지 않습니다.
+            try {
+                new ObjectMapper().readTree(response.getBody());
+                return response.getBody();
+            } catch (Exception e) {
+                e.printStackTrace();
+                return null;
+            }
+        });
 
         try {
             ObjectMapper mapper = new ObjectMapper();
-            JsonNode root = mapper.readTree(response.getBody());
+            JsonNode root = mapper.readTree(body);
             return root;
             //return root.path("text").asText("");
         } catch (Exception e) {
@@ -0,0 +1,159 @@
+package com.example.demo.util;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * 한 디렉터리 아래의 캐시 파일 전체 크기를 상한 이하로 유지하는 디스크 LRU 목록입니다.
+ * 파일의 수정 시각을 마지막 사용 시각으로 쓰므로 재시작 후에도 사용 순서를 복원할 수 있습니다.
+ * 파일 경로와 내용은 사용하는 쪽에서 정하고, 이 클래스는 쓰기(임시 파일 + 이동)와 정리만 담당합니다.
+ */
+public class DiskLruCache {
+
+    /**
+     * 임시 파일에 캐시 내용을 쓰는 함수
+     */
+    @FunctionalInterface
+    public interface Writer {
+        void write(Path temp) throws IOException;
+    }
+
+    private final Path directory;
+    private final long maxBytes;
+
+    // 캐시 파일 경로 → 크기, 접근 순서대로 유지 (가장 앞이 가장 오래 사용하지 않은 항목)
+    private final LinkedHashMap<Path, Long> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private long totalBytes;
+
+    public DiskLruCache(Path directory, long maxBytes) {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * 디렉터리를 만들고 기존 캐시 파일을 마지막 사용 시각 순으로 불러옵니다.
+     * @param filter 캐시 파일로 인정할 파일 (쓰다 만 임시 파일 제외 등)
+     * @return 불러온 파일 수
+     */
+    public int load(Predicate<Path> filter) throws IOException {
+        Files.createDirectories(directory);
+        List<Path> files = new ArrayList<>();
+        try (Stream<Path> stream = Files.walk(directory)) {
+            stream.filter(path -> Files.isRegularFile(path) && filter.test(path)).forEach(files::add);
+        }
+        files.sort(Comparator.comparing(DiskLruCache::lastModified));
+        synchronized (entries) {
+            for (Path file : files) {
+                long size = file.toFile().length();
+                Long previous = entries.put(file, size);
+                totalBytes += size - (previous != null ? previous : 0);
+            }
+        }
+        evictIfNeeded();
+        return files.size();
+    }
+
+    /**
+     * 캐시에 있는 파일이면 사용 시각을 갱신하고 true를 반환합니다.
+     */
+    public boolean touch(Path file) {
+        synchronized (entries) {
+            if (entries.get(file) == null) {
+                return false;
+            }
+        }
+        try {
+            // 재시작 후 LRU 순서를 복원할 수 있도록 사용 시각을 수정 시각에 기록합니다.
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+            return true;
+        } catch (IOException e) {
+            remove(file);
+            return false;
+        }
+    }
+
+    /**
+     * 임시 파일에 내용을 쓴 뒤 캐시 파일로 옮기고, 상한을 넘으면 오래된 항목을 삭제합니다.
+     * 읽는 쪽이 쓰다 만 파일을 보지 않도록 이동은 가능하면 원자적으로 합니다.
+     */
+    public void write(Path file, Writer writer) throws IOException {
+        Files.createDirectories(file.getParent());
+        Path temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+        try {
+            writer.write(temp);
+            try {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+
+        long size = file.toFile().length();
+        synchronized (entries) {
+            Long previous = entries.put(file, size);
+            totalBytes += size - (previous != null ? previous : 0);
+        }
+        evictIfNeeded();
+    }
+
+    public void remove(Path file) {
+        synchronized (entries) {
+            Long size = entries.remove(file);
+            if (size != null) {
+                totalBytes -= size;
+            }
+        }
+    }
+
+    public long getTotalBytes() {
+        synchronized (entries) {
+            return totalBytes;
+        }
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    private void evictIfNeeded() {
+        List<Path> evicted = new ArrayList<>();
+        synchronized (entries) {
+            Iterator<Map.Entry<Path, Long>> it = entries.entrySet().iterator();
+            while (totalBytes > maxBytes && it.hasNext()) {
+                Map.Entry<Path, Long> eldest = it.next();
+                totalBytes -= eldest.getValue();
+                evicted.add(eldest.getKey());
+                it.remove();
+            }
+        }
+        for (Path file : evicted) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                System.out.println("Warning: 캐시 파일 삭제에 실패했습니다: " + file);
+            }
+        }
+    }
+
+    private static FileTime lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+}
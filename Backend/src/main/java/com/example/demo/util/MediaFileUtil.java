@@ -0,0 +1,104 @@
+package com.example.demo.util;
+
+import org.bytedeco.javacv.FFmpegFrameRecorder;
+import org.bytedeco.javacv.Frame;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * 영상에서 만든 이미지/디렉터리를 저장하고 정리하는 공통 함수 (썸네일, 미리보기, HLS, 분석용 프레임)
+ */
+public class MediaFileUtil {
+
+    /**
+     * 이미지를 지정한 품질의 JPEG로 저장합니다. 기존 파일 위에 쓰면 길이가 줄지 않으므로 먼저 지웁니다.
+     * @param quality 0.0 ~ 1.0
+     */
+    public static void writeJpeg(BufferedImage image, File target, float quality) throws IOException {
+        Files.deleteIfExists(target.toPath());
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(target)) {
+            writeJpeg(image, out, quality);
+        }
+    }
+
+    /**
+     * 이미지를 지정한 품질의 JPEG 바이트로 인코딩합니다. (여러 프레임을 한 파일에 이어 쓸 때 사용)
+     * @param quality 0.0 ~ 1.0
+     */
+    public static byte[] encodeJpeg(BufferedImage image, float quality) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(bytes)) {
+            writeJpeg(image, out, quality);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void writeJpeg(BufferedImage image, ImageOutputStream out, float quality) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality);
+            writer.setOutput(out);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    /**
+     * 같은 프레임을 여러 recorder에 쓸 때 사용합니다. recorder가 음성 샘플 버퍼의 위치를 옮기므로
+     * 기록 후 위치를 되돌려 다음 recorder도 같은 샘플을 처음부터 읽게 합니다.
+     */
+    public static void recordShared(FFmpegFrameRecorder recorder, Frame frame) throws IOException {
+        Buffer[] samples = frame.samples;
+        if (samples == null) {
+            recorder.record(frame);
+            return;
+        }
+        int[] positions = new int[samples.length];
+        for (int i = 0; i < samples.length; i++) {
+            positions[i] = samples[i].position();
+        }
+        try {
+            recorder.record(frame);
+        } finally {
+            for (int i = 0; i < samples.length; i++) {
+                samples[i].position(positions[i]);
+            }
+        }
+    }
+
+    /**
+     * 디렉터리를 안의 파일까지 삭제합니다. (삭제에 실패한 파일은 경고만 남깁니다)
+     */
+    public static void deleteRecursively(Path directory) {
+        if (!Files.exists(directory)) {
+            return;
+        }
+        try (Stream<Path> stream = Files.walk(directory)) {
+            stream.sorted(Comparator.reverseOrder()).forEach(path -> {
+                try {
+                    Files.deleteIfExists(path);
+                } catch (IOException e) {
+                    System.out.println("Warning: 파일 삭제에 실패했습니다: " + path);
+                }
+            });
+        } catch (IOException e) {
+            System.out.println("Warning: 디렉터리를 읽지 못했습니다: " + directory);
+        }
+    }
+}
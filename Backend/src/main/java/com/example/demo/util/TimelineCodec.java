@@ -0,0 +1,121 @@
+package com.example.demo.util;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * TimelineSeries를 DB에 저장하기 위한 이진 열 지향 포맷입니다.
+ *
+ * [버전][샘플 수][채널 수][스케일][프레임 키][채널 이름...][프레임 열][채널 열...]
+ *
+ * 각 열은 이전 값과의 차이를 zigzag varint로 기록합니다. 실수 채널은 스케일(100)을 곱해
+ * 소수점 둘째 자리까지 정수로 고정한 뒤 차분하므로, 천천히 변하는 각도/점수 값은 샘플당 1~2바이트가 됩니다.
+ */
+public class TimelineCodec {
+
+    private static final int VERSION = 1;
+    private static final int SCALE = 100;
+
+    public static byte[] encode(TimelineSeries series) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(16 + series.size() * (series.getChannels().size() + 1) * 2);
+        writeVarint(out, VERSION);
+        writeVarint(out, series.size());
+        writeVarint(out, series.getChannels().size());
+        writeVarint(out, SCALE);
+        writeString(out, series.getFrameKey());
+        for (String channel : series.getChannels()) {
+            writeString(out, channel);
+        }
+
+        long previous = 0;
+        for (int frame : series.getFrames()) {
+            writeVarint(out, zigzag(frame - previous));
+            previous = frame;
+        }
+        for (double[] column : series.getValues()) {
+            previous = 0;
+            for (double value : column) {
+                long quantized = Math.round(value * SCALE);
+                writeVarint(out, zigzag(quantized - previous));
+                previous = quantized;
+            }
+        }
+        return out.toByteArray();
+    }
+
+    public static TimelineSeries decode(byte[] data) {
+        ByteBuffer in = ByteBuffer.wrap(data);
+        int version = (int) readVarint(in);
+        if (version != VERSION) {
+            throw new IllegalArgumentException("지원하지 않는 타임라인 포맷 버전입니다: " + version);
+        }
+        int size = (int) readVarint(in);
+        int channelCount = (int) readVarint(in);
+        double scale = readVarint(in);
+        String frameKey = readString(in);
+        List<String> channels = new ArrayList<>(channelCount);
+        for (int c = 0; c < channelCount; c++) {
+            channels.add(readString(in));
+        }
+
+        int[] frames = new int[size];
+        long current = 0;
+        for (int i = 0; i < size; i++) {
+            current += unzigzag(readVarint(in));
+            frames[i] = (int) current;
+        }
+        double[][] values = new double[channelCount][size];
+        for (int c = 0; c < channelCount; c++) {
+            current = 0;
+            for (int i = 0; i < size; i++) {
+                current += unzigzag(readVarint(in));
+                values[c][i] = current / scale;
+            }
+        }
+        return new TimelineSeries(frameKey, channels, frames, values);
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarint(ByteBuffer in) {
+        long result = 0;
+        int shift = 0;
+        while (true) {
+            byte b = in.get();
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+            shift += 7;
+        }
+    }
+
+    private static void writeString(ByteArrayOutputStream out, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarint(out, bytes.length);
+        out.write(bytes, 0, bytes.length);
+    }
+
+    private static String readString(ByteBuffer in) {
+        byte[] bytes = new byte[(int) readVarint(in)];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.demo.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 프레임 번호 열과 이름이 붙은 수치 채널 열로 이루어진 열 지향 시계열입니다.
+ * 시선 분석의 time_series, 감정 분석의 results 배열을 그대로 표현합니다.
+ */
+public class TimelineSeries {
+
+    private final String frameKey;
+    private final List<String> channels;
+    private final int[] frames;
+    private final double[][] values; // [채널][샘플]
+
+    public TimelineSeries(String frameKey, List<String> channels, int[] frames, double[][] values) {
+        this.frameKey = frameKey;
+        this.channels = channels;
+        this.frames = frames;
+        this.values = values;
+    }
+
+    /**
+     * 분석 서버가 돌려준 객체 배열을 열 지향 시계열로 변환합니다.
+     * 채널 목록은 첫 샘플의 숫자 필드에서 정하며, 샘플에 값이 없으면 0으로 채웁니다.
+     * @param array 프레임별 객체 배열
+     * @param frameKey 프레임 번호 필드 이름 (예: frame, frame_idx)
+     * @return 변환된 시계열, 배열이 아니거나 비어 있으면 null
+     */
+    public static TimelineSeries fromJson(JsonNode array, String frameKey) {
+        if (array == null || !array.isArray() || array.isEmpty()) {
+            return null;
+        }
+
+        List<String> channels = new ArrayList<>();
+        Iterator<Map.Entry<String, JsonNode>> fields = array.get(0).fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            if (!field.getKey().equals(frameKey) && field.getValue().isNumber()) {
+                channels.add(field.getKey());
+            }
+        }
+
+        int size = array.size();
+        int[] frames = new int[size];
+        double[][] values = new double[channels.size()][size];
+        for (int i = 0; i < size; i++) {
+            JsonNode sample = array.get(i);
+            frames[i] = sample.path(frameKey).asInt(i);
+            for (int c = 0; c < channels.size(); c++) {
+                values[c][i] = sample.path(channels.get(c)).asDouble(0);
+            }
+        }
+        return new TimelineSeries(frameKey, channels, frames, values);
+    }
+
+    /**
+     * 원래의 객체 배열 형태로 되돌립니다. 정수로 떨어지는 값은 정수로 기록합니다.
+     */
+    public ArrayNode toJson(ObjectMapper mapper) {
+        ArrayNode array = mapper.createArrayNode();
+        for (int i = 0; i < frames.length; i++) {
+            ObjectNode sample = array.addObject();
+            sample.put(frameKey, frames[i]);
+            for (int c = 0; c < channels.size(); c++) {
+                double value = values[c][i];
+                if (value == Math.rint(value)) {
+                    sample.put(channels.get(c), (long) value);
+                } else {
+                    sample.put(channels.get(c), value);
+                }
+            }
+        }
+        return array;
+    }
+
+    /**
+     * [fromFrame, toFrame] 구간을 최대 maxPoints개의 점으로 줄입니다.
+     * 구간 안의 샘플을 균등한 묶음으로 나누어 채널별 평균을 내고, 프레임 번호는 묶음의 첫 프레임을 씁니다.
+     * @param fromFrame 시작 프레임 (null이면 처음부터)
+     * @param toFrame 끝 프레임 (null이면 끝까지)
+     * @param maxPoints 반환할 최대 점 개수
+     */
+    public TimelineSeries downsample(Integer fromFrame, Integer toFrame, int maxPoints) {
+        int start = 0;
+        while (start < frames.length && fromFrame != null && frames[start] < fromFrame) {
+            start++;
+        }
+        int end = start;
+        while (end < frames.length && (toFrame == null || frames[end] <= toFrame)) {
+            end++;
+        }
+
+        int count = end - start;
+        int buckets = Math.min(count, Math.max(1, maxPoints));
+        int[] outFrames = new int[buckets];
+        double[][] outValues = new double[channels.size()][buckets];
+
+        for (int b = 0; b < buckets; b++) {
+            int from = start + (int) ((long) b * count / buckets);
+            int to = start + (int) ((long) (b + 1) * count / buckets);
+            outFrames[b] = frames[from];
+            for (int c = 0; c < channels.size(); c++) {
+                double sum = 0;
+                for (int i = from; i < to; i++) {
+                    sum += values[c][i];
+                }
+                outValues[c][b] = Math.round(sum / (to - from) * 100) / 100.0; // 저장 정밀도(소수 둘째 자리)에 맞춤
+            }
+        }
+        return new TimelineSeries(frameKey, channels, outFrames, outValues);
+    }
+
+    /**
+     * 차트에서 바로 쓸 수 있도록 프레임 배열과 채널별 값 배열로 이루어진 열 지향 맵을 만듭니다.
+     */
+    public Map<String, Object> toColumns() {
+        Map<String, Object> columns = new LinkedHashMap<>();
+        columns.put(frameKey, frames);
+        for (int c = 0; c < channels.size(); c++) {
+            columns.put(channels.get(c), values[c]);
+        }
+        return columns;
+    }
+
+    public String getFrameKey() {
+        return frameKey;
+    }
+
+    public List<String> getChannels() {
+        return channels;
+    }
+
+    public int[] getFrames() {
+        return frames;
+    }
+
+    public double[][] getValues() {
+        return values;
+    }
+
+    public int size() {
+        return frames.length;
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.demo.controller;
+
+import com.example.demo.service.VideoMetadataCacheService;
+import com.example.demo.service.VideoMetadataCacheService.VideoFileMeta;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.apache.catalina.Context;
+import org.apache.catalina.connector.Connector;
+import org.apache.catalina.startup.Tomcat;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 탐색하며 재생할 때처럼 임의 위치의 Range 요청을 반복해 /videos/stream의 처리량을 잽니다.
+ * 내장 Tomcat에서 sendfile을 켠 경우와 끈 경우(FileChannel.transferTo)를 각각 실행하고 bytes/s를 출력합니다.
+ * 결과 숫자는 환경마다 다르므로 검사하지 않고, 응답 구간이 파일 내용과 같은지만 확인합니다.
+ */
+class VideoStreamingControllerTest {
+
+    private static final int FILE_SIZE = 64 * 1024 * 1024;
+    private static final int SEEKS = 200;
+    private static final int MIN_RANGE = 64 * 1024;
+    private static final int MAX_RANGE = 2 * 1024 * 1024;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void seekingPlaybackWithSendfile() throws Exception {
+        measureSeeking(true);
+    }
+
+    @Test
+    void seekingPlaybackWithTransferTo() throws Exception {
+        measureSeeking(false);
+    }
+
+    private void measureSeeking(boolean sendfile) throws Exception {
+        byte[] data = new byte[FILE_SIZE];
+        new Random(1).nextBytes(data);
+        Path video = Files.write(tempDir.resolve("sample.mp4"), data);
+
+        VideoMetadataCacheService cache = mock(VideoMetadataCacheService.class);
+        when(cache.get(1L)).thenReturn(new VideoFileMeta(video, FILE_SIZE, Files.getLastModifiedTime(video).toMillis(), "video/mp4"));
+        VideoStreamingController controller = new VideoStreamingController(cache);
+
+        Tomcat tomcat = new Tomcat();
+        tomcat.setBaseDir(tempDir.resolve("tomcat").toString());
+        tomcat.setPort(0);
+        Connector connector = tomcat.getConnector();
+        connector.setProperty("useSendfile", String.valueOf(sendfile));
+        Context context = tomcat.addContext("", null);
+        Tomcat.addServlet(context, "stream", new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) throws IOException {
+                controller.streamVideo(1L, request, response);
+            }
+        });
+        context.addServletMappingDecoded("/stream", "stream");
+        tomcat.start();
+        try {
+            URI uri = URI.create("http://127.0.0.1:" + connector.getLocalPort() + "/stream");
+            HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+            Random random = new Random(2);
+
+            // 연결과 JIT를 데운 뒤 잽니다.
+            for (int i = 0; i < 10; i++) {
+                read(client, uri, data, random);
+            }
+
+            long bytes = 0;
+            long elapsedNanos = 0;
+            for (int i = 0; i < SEEKS; i++) {
+                long[] result = read(client, uri, data, random);
+                bytes += result[0];
+                elapsedNanos += result[1];
+            }
+            double seconds = elapsedNanos / 1e9;
+            System.out.printf("[VideoStreamingControllerTest] sendfile=%s: %d seeks, %d bytes in %.0f ms = %.1f MB/s%n",
+                    sendfile, SEEKS, bytes, seconds * 1000, bytes / seconds / (1024 * 1024));
+        } finally {
+            tomcat.stop();
+            tomcat.destroy();
+        }
+    }
+
+    // 임의 위치에서 임의 길이를 한 번 읽고 {받은 바이트 수, 걸린 시간(ns)}을 반환합니다.
+    private static long[] read(HttpClient client, URI uri, byte[] data, Random random) throws Exception {
+        int length = MIN_RANGE + random.nextInt(MAX_RANGE - MIN_RANGE + 1);
+        int start = random.nextInt(data.length - length + 1);
+        int end = start + length - 1;
+        HttpRequest request = HttpRequest.newBuilder(uri).header("Range", "bytes=" + start + "-" + end).build();
+
+        long begin = System.nanoTime();
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        long elapsed = System.nanoTime() - begin;
+
+        assertEquals(206, response.statusCode());
+        assertEquals("bytes " + start + "-" + end + "/" + data.length, response.headers().firstValue("Content-Range").orElse(null));
+        assertArrayEquals(Arrays.copyOfRange(data, start, end + 1), response.body());
+        return new long[]{response.body().length, elapsed};
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.demo.service;
+
+import com.example.demo.domain.AnalysisStatus;
+import com.example.demo.domain.InterviewEntity;
+import com.example.demo.domain.QuestionEntity;
+import com.example.demo.domain.UserEntity;
+import com.example.demo.domain.VideoEntity;
+import com.example.demo.dto.InterviewHistoryPageDto;
+import com.example.demo.dto.InterviewSummaryDto;
+import com.example.demo.dto.UserDto;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 마이페이지 면접 목록(GET /api/user/profile, /api/user/interviews)의 쿼리 수를 확인합니다.
+ * 사용자 조회 1번 + 요약 프로젝션 1번으로, 면접/영상 수와 관계없이 2번이어야 합니다.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({InterviewService.class, UserService.class})
+class InterviewServiceTest {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private InterviewService interviewService;
+
+    @Autowired
+    private UserService userService;
+
+    private Statistics statistics;
+    private UserEntity user;
+    private QuestionEntity question;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        user = em.persist(UserEntity.builder().id("tester").pw("pw").name("테스터").email("tester@example.com").build());
+        question = em.persist(QuestionEntity.builder().user(user).questionType("기본").content("자기소개를 해주세요.").build());
+    }
+
+    @Test
+    void oneInterviewCostsTwoQueries() {
+        addInterview(0, 5, 1);
+        clearContext();
+
+        InterviewHistoryPageDto page = loadProfile(null, null);
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(1, page.getInterviews().size());
+        InterviewSummaryDto summary = page.getInterviews().get(0);
+        assertEquals(5L, summary.getQuestionCount());
+        assertFalse(summary.isAllAnalyzed());
+        assertNull(page.getNextCursorNo());
+    }
+
+    @Test
+    void manyInterviewsStillCostTwoQueries() {
+        int interviews = PAGE_SIZE + 5;
+        for (int i = 0; i < interviews; i++) {
+            addInterview(i, 5, i % 3 == 1 ? 1 : 0);
+        }
+        clearContext();
+
+        InterviewHistoryPageDto first = loadProfile(null, null);
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(PAGE_SIZE, first.getInterviews().size());
+        assertNotNull(first.getNextCursorNo());
+        // 최신순: 마지막에 만든 면접이 먼저
+        InterviewSummaryDto latest = first.getInterviews().get(0);
+        assertEquals(5L, latest.getQuestionCount());
+        assertTrue(latest.isAllAnalyzed()); // i = 24
+
+        // 다음 페이지도 같은 비용
+        statistics.clear();
+        InterviewHistoryPageDto second = loadProfile(first.getNextCursorDate(), first.getNextCursorNo());
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(interviews - PAGE_SIZE, second.getInterviews().size());
+        assertNull(second.getNextCursorNo());
+    }
+
+    // UserController.getMyPage와 같은 순서로 조회합니다.
+    private InterviewHistoryPageDto loadProfile(LocalDateTime cursorDate, Long cursorNo) {
+        UserDto found = userService.getUserById(user.getId());
+        assertNotNull(found);
+        return interviewService.getInterviewHistoryPage(user.getId(), cursorDate, cursorNo, PAGE_SIZE);
+    }
+
+    private void addInterview(int order, int videos, int pending) {
+        InterviewEntity interview = em.persist(InterviewEntity.builder()
+                .user(user)
+                .interviewDate(LocalDateTime.of(2025, 1, 1, 9, 0).plusDays(order))
+                .interviewTitle("면접 " + order)
+                .interviewType(1)
+                .build());
+        for (int v = 0; v < videos; v++) {
+            em.persist(VideoEntity.builder()
+                    .interview(interview)
+                    .question(question)
+                    .videoDir("/videos/" + order + "_" + v + ".mp4")
+                    .analysisStatus(v < pending ? AnalysisStatus.PENDING : AnalysisStatus.DONE)
+                    .build());
+        }
+    }
+
+    // 영속성 컨텍스트를 비워 사용자 조회도 DB로 가게 하고, 준비 과정의 쿼리는 세지 않습니다.
+    private void clearContext() {
+        em.flush();
+        em.clear();
+        statistics.clear();
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.demo.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class VideoJobServiceTest {
+
+    @Test
+    void retryDelayDoublesFromBase() {
+        assertEquals(10, VideoJobService.retryDelaySeconds(1, 10, 600));
+        assertEquals(20, VideoJobService.retryDelaySeconds(2, 10, 600));
+        assertEquals(40, VideoJobService.retryDelaySeconds(3, 10, 600));
+        assertEquals(80, VideoJobService.retryDelaySeconds(4, 10, 600));
+        assertEquals(160, VideoJobService.retryDelaySeconds(5, 10, 600));
+        assertEquals(320, VideoJobService.retryDelaySeconds(6, 10, 600));
+    }
+
+    @Test
+    void retryDelayIsCappedAtMax() {
+        assertEquals(600, VideoJobService.retryDelaySeconds(7, 10, 600));
+        assertEquals(600, VideoJobService.retryDelaySeconds(8, 10, 600));
+    }
+
+    @Test
+    void retryDelayDoesNotOverflowForManyAttempts() {
+        // 시프트를 20번으로 제한하므로 실패 횟수가 커져도 음수가 되지 않습니다.
+        assertEquals(600, VideoJobService.retryDelaySeconds(64, 10, 600));
+        assertEquals(600, VideoJobService.retryDelaySeconds(Integer.MAX_VALUE, 10, 600));
+        assertEquals(10L << 20, VideoJobService.retryDelaySeconds(100, 10, Long.MAX_VALUE));
+    }
+
+    @Test
+    void retryDelayTreatsNonPositiveAttemptsAsFirst() {
+        assertEquals(10, VideoJobService.retryDelaySeconds(0, 10, 600));
+    }
+}
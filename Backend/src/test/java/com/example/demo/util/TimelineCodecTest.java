@@ -0,0 +1,79 @@
+package com.example.demo.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimelineCodecTest {
+
+    @Test
+    void emptySeriesRoundTrips() {
+        TimelineSeries series = new TimelineSeries("frame", List.of("head_yaw", "score"), new int[0], new double[2][0]);
+
+        TimelineSeries decoded = TimelineCodec.decode(TimelineCodec.encode(series));
+
+        assertEquals("frame", decoded.getFrameKey());
+        assertEquals(List.of("head_yaw", "score"), decoded.getChannels());
+        assertEquals(0, decoded.size());
+        assertEquals(2, decoded.getValues().length);
+        assertEquals(0, decoded.getValues()[0].length);
+    }
+
+    @Test
+    void negativeValuesAndDeltasRoundTrip() {
+        // 값이 음수이거나 줄어드는 경우(차분이 음수), 프레임 번호가 되돌아가는 경우도 그대로 복원되어야 합니다.
+        int[] frames = {10, 20, 15, 1_000_000, 0};
+        double[][] values = {
+                {-12.34, 5.5, -30.01, -30.01, 0},
+                {100, 0, 99.99, -100, 42},
+        };
+        TimelineSeries series = new TimelineSeries("frame_idx", List.of("gaze_yaw", "score"), frames, values);
+
+        TimelineSeries decoded = TimelineCodec.decode(TimelineCodec.encode(series));
+
+        assertEquals("frame_idx", decoded.getFrameKey());
+        assertArrayEquals(frames, decoded.getFrames());
+        assertArrayEquals(values[0], decoded.getValues()[0], 1e-9);
+        assertArrayEquals(values[1], decoded.getValues()[1], 1e-9);
+    }
+
+    @Test
+    void valuesAreRoundedToTwoDecimals() {
+        // 스케일 100으로 반올림 (Math.round: .5는 양의 무한대 방향)
+        double[][] values = {{0.004, 0.006, 12.344, 0.125, -0.125, -0.126}};
+        TimelineSeries series = new TimelineSeries("frame", List.of("score"), new int[]{1, 2, 3, 4, 5, 6}, values);
+
+        TimelineSeries decoded = TimelineCodec.decode(TimelineCodec.encode(series));
+
+        assertArrayEquals(new double[]{0.0, 0.01, 12.34, 0.13, -0.12, -0.13}, decoded.getValues()[0], 1e-9);
+    }
+
+    @Test
+    void slowlyChangingSeriesUsesAboutOneByteAPerSample() {
+        int size = 1000;
+        int[] frames = new int[size];
+        double[][] values = new double[1][size];
+        for (int i = 0; i < size; i++) {
+            frames[i] = i * 10;
+            values[0][i] = 20 + (i % 2) * 0.3;
+        }
+
+        byte[] encoded = TimelineCodec.encode(new TimelineSeries("frame", List.of("head_yaw"), frames, values));
+
+        // 프레임 차분(10)과 값 차분(±30)이 모두 1바이트
+        assertTrue(encoded.length < size * 2 + 32, "encoded " + encoded.length + " bytes");
+    }
+
+    @Test
+    void rejectsUnknownVersion() {
+        byte[] encoded = TimelineCodec.encode(new TimelineSeries("frame", List.of(), new int[0], new double[0][0]));
+        encoded[0] = 2;
+
+        assertThrows(IllegalArgumentException.class, () -> TimelineCodec.decode(encoded));
+    }
+}
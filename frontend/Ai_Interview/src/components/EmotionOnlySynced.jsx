@@ -24,6 +24,8 @@ import {
 } from "framer-motion";
 import EmotionHeatSlider from "./EmotionHeatSlider";
 import SttSynced from "../components/SttSynced";
+import ScrubPreview from "./ScrubPreview";
+import { loadPreviewTrack, findPreviewCue } from "../utils/previewTrack";
 
 /** mm:ss.s */
 function fmt(sec = 0) {
@@ -131,7 +133,9 @@ const toEmotionData = (input, fps = 30) => {
 export default function EmotionOnlySynced({
   emotionChartData = [],     // 배열 또는 { average_score, results } 등 객체 모두 허용
   videoUrl = "",
+  hlsUrl = "", // HLS 마스터 재생목록 (지원하는 브라우저만 사용, 실패하면 videoUrl의 MP4 재생)
   poster = "",
+  previewTrackUrl = "", // 탐색 미리보기 WebVTT (없으면 스크럽 시 영상을 직접 이동)
   sttSegments = [],
   sttTimeUnit = "s",
 }) {
@@ -146,6 +150,20 @@ export default function EmotionOnlySynced({
 
   const videoRef = useRef(null);
 
+  // 탐색 미리보기: 스크럽 중에는 영상 대신 스프라이트 한 칸을 보여주고, 손을 뗄 때 한 번만 이동
+  const previewCuesRef = useRef([]);
+  const [scrubPreview, setScrubPreview] = useState(null); // { cue, t }
+  useEffect(() => {
+    let alive = true;
+    previewCuesRef.current = [];
+    loadPreviewTrack(previewTrackUrl).then((cues) => {
+      if (alive) previewCuesRef.current = cues;
+    });
+    return () => {
+      alive = false;
+    };
+  }, [previewTrackUrl]);
+
   // 차트 bbox 계산용
   const chartWrapRef = useRef(null);
   const overlayRef = useRef(null);
@@ -272,6 +290,14 @@ export default function EmotionOnlySynced({
     setPctFromTime(clamped);
   };
 
+  const previewTo = (t, cue) => {
+    const clamped = Math.max(xDomain[0], Math.min(xDomain[1], t));
+    setCursorTime(clamped);
+    setSttTime(clamped);
+    setPctFromTime(clamped);
+    setScrubPreview({ cue, t: clamped });
+  };
+
   useEffect(() => {
     const v = videoRef.current;
     if (!v) return;
@@ -446,11 +472,16 @@ export default function EmotionOnlySynced({
     }
     if (scrubbingRef.current) {
       const t = getTimeFromOverlay(nowX);
-      if (t != null) jumpTo(t, false);
+      if (t != null) {
+        const cue = findPreviewCue(previewCuesRef.current, t);
+        if (cue) previewTo(t, cue);
+        else jumpTo(t, false);
+      }
     }
   };
 
   const onPointerUp = (e) => {
+    setScrubPreview(null);
     const clientX = e.clientX ?? (e.changedTouches && e.changedTouches[0]?.clientX);
     if (scrubbingRef.current) {
       const t = clientX != null ? getTimeFromOverlay(clientX) : null;
@@ -469,7 +500,7 @@ export default function EmotionOnlySynced({
       {/* 🎥 영상 */}
       <div className="min-w-0">
         <p className="text-base text-gray-800 font-semibold mb-2 text-center">실전 면접 영상</p>
-        <div className="aspect-video overflow-hidden rounded-2xl bg-black/90 shadow-sm flex items-center justify-center">
+        <div className="relative aspect-video overflow-hidden rounded-2xl bg-black/90 shadow-sm flex items-center justify-center">
           {videoUrl ? (
             <video
               ref={videoRef}
@@ -477,7 +508,7 @@ export default function EmotionOnlySynced({
               controls
               playsInline
               preload="metadata"
-              src={videoUrl}
+              src={hlsUrl ? undefined : videoUrl}
               poster={poster || undefined}
               onLoadedMetadata={onLoadedMetadata}
               onPlay={() => setPlayingDebounced(true)}
@@ -494,10 +525,18 @@ export default function EmotionOnlySynced({
                 setPlayingDebounced(false);
                 jumpTo(0, false);
               }}
-            />
+            >
+              {hlsUrl ? (
+                <>
+                  <source src={hlsUrl} type="application/vnd.apple.mpegurl" />
+                  <source src={videoUrl} type="video/mp4" />
+                </>
+              ) : null}
+            </video>
           ) : (
             <span className="text-gray-400 text-sm">영상 소스가 없습니다.</span>
           )}
+          <ScrubPreview cue={scrubPreview?.cue} label={scrubPreview ? fmt(scrubPreview.t) : ""} />
         </div>
         <div className="mt-2 text-[11px] text-gray-500 text-center">
           {fmt(isPlaying ? sttTime : cursorTime)} / {fmt(totalSec)}
@@ -23,6 +23,8 @@ import {
   useTransform,
 } from "framer-motion";
 import SttSynced from "./SttSynced";
+import ScrubPreview from "./ScrubPreview";
+import { loadPreviewTrack, findPreviewCue } from "../utils/previewTrack";
 
 /** mm:ss.s */
 function fmt(sec = 0) {
@@ -47,7 +49,9 @@ function safeParseJSON(maybeJSON, fallback = null) {
 export default function FocusOnlySynced({
   visionChartData = [], // 배열 또는 { time_series: [...] } 또는 JSON 문자열
   videoUrl = "",
+  hlsUrl = "", // HLS 마스터 재생목록 (지원하는 브라우저만 사용, 실패하면 videoUrl의 MP4 재생)
   poster = "",
+  previewTrackUrl = "", // 탐색 미리보기 WebVTT (없으면 스크럽 시 영상을 직접 이동)
   sttSegments = [],
   sttTimeUnit = "s",
   debug = false, // 콘솔 확인용
@@ -60,6 +64,20 @@ export default function FocusOnlySynced({
 
   const videoRef = useRef(null);
 
+  // 탐색 미리보기: 스크럽 중에는 영상 대신 스프라이트 한 칸을 보여주고, 손을 뗄 때 한 번만 이동
+  const previewCuesRef = useRef([]);
+  const [scrubPreview, setScrubPreview] = useState(null); // { cue, t }
+  useEffect(() => {
+    let alive = true;
+    previewCuesRef.current = [];
+    loadPreviewTrack(previewTrackUrl).then((cues) => {
+      if (alive) previewCuesRef.current = cues;
+    });
+    return () => {
+      alive = false;
+    };
+  }, [previewTrackUrl]);
+
   // 차트/오버레이 래퍼 & 플롯 bbox
   const chartWrapRef = useRef(null);
   const [plotRect, setPlotRect] = useState({
@@ -238,6 +256,14 @@ export default function FocusOnlySynced({
     setPctFromTime(clamped);
   };
 
+  const previewTo = (t, cue) => {
+    const clamped = Math.max(xDomain[0], Math.min(xDomain[1], t));
+    setCursorTime(clamped);
+    setSttTime(clamped);
+    setPctFromTime(clamped);
+    setScrubPreview({ cue, t: clamped });
+  };
+
   /** ───────── rVFC 15Hz 업데이트 ───────── */
   useEffect(() => {
     const v = videoRef.current;
@@ -363,11 +389,16 @@ export default function FocusOnlySynced({
     }
     if (scrubbingRef.current) {
       const t = getTimeFromOverlay(nowX);
-      if (t != null) jumpTo(t, false);
+      if (t != null) {
+        const cue = findPreviewCue(previewCuesRef.current, t);
+        if (cue) previewTo(t, cue);
+        else jumpTo(t, false);
+      }
     }
   };
 
   const onPointerUp = (e) => {
+    setScrubPreview(null);
     const clientX =
       e.clientX ?? (e.changedTouches && e.changedTouches[0]?.clientX);
     if (scrubbingRef.current) {
@@ -411,7 +442,7 @@ export default function FocusOnlySynced({
         <p className="text-base text-gray-800 font-semibold mb-2 text-center">
           실전 면접 영상
         </p>
-        <div className="aspect-video overflow-hidden rounded-2xl bg-black/90 shadow-sm flex items-center justify-center">
+        <div className="relative aspect-video overflow-hidden rounded-2xl bg-black/90 shadow-sm flex items-center justify-center">
           {videoUrl ? (
             <video
               ref={videoRef}
@@ -419,7 +450,7 @@ export default function FocusOnlySynced({
               controls
               playsInline
               preload="metadata"
-              src={videoUrl}
+              src={hlsUrl ? undefined : videoUrl}
               poster={poster || undefined}
               onLoadedMetadata={onLoadedMetadata}
               onPlay={() => setPlayingDebounced(true)}
@@ -437,10 +468,18 @@ export default function FocusOnlySynced({
                 setPlayingDebounced(false);
                 jumpTo(0, false);
               }}
-            />
+            >
+              {hlsUrl ? (
+                <>
+                  <source src={hlsUrl} type="application/vnd.apple.mpegurl" />
+                  <source src={videoUrl} type="video/mp4" />
+                </>
+              ) : null}
+            </video>
           ) : (
             <span className="text-gray-400 text-sm">영상 소스가 없습니다.</span>
           )}
+          <ScrubPreview cue={scrubPreview?.cue} label={scrubPreview ? fmt(scrubPreview.t) : ""} />
         </div>
         <div className="mt-2 text-[11px] text-gray-500 text-center">
           {fmt(cursorTime)} / {fmt(totalSec)}
@@ -0,0 +1,28 @@
+import React from "react";
+
+/**
+ * 스크럽 중 영상 위에 띄우는 미리보기 한 칸.
+ * props:
+ *  - cue: { url, x, y, w, h } (findPreviewCue 결과)
+ *  - label?: string  // 칸 아래 시각 표시
+ */
+export default function ScrubPreview({ cue, label }) {
+  if (!cue) return null;
+  return (
+    <div className="pointer-events-none absolute bottom-3 left-1/2 -translate-x-1/2 z-10 flex flex-col items-center">
+      <div
+        className="rounded-md border border-white/70 shadow-lg"
+        style={{
+          width: cue.w,
+          height: cue.h,
+          backgroundImage: `url("${cue.url}")`,
+          backgroundPosition: `-${cue.x}px -${cue.y}px`,
+          backgroundRepeat: "no-repeat",
+        }}
+      />
+      {label ? (
+        <span className="mt-1 px-1.5 rounded bg-black/70 text-[11px] text-white">{label}</span>
+      ) : null}
+    </div>
+  );
+}
@@ -321,7 +321,13 @@ export default function SessionDetail() {
       : templated;
     videoUrl = toPath(resolved);
   }
-  const thumbUrl = toPath(clip?.thumbnailDir);
+  const thumbUrl =
+    _videoNo != null
+      ? toPath(API_PATHS?.VIDEOS?.THUMBNAIL?.(_videoNo, 640))
+      : toPath(clip?.thumbnailDir);
+  const previewTrackUrl =
+    _videoNo != null ? toPath(API_PATHS?.VIDEOS?.PREVIEW_VTT?.(_videoNo)) : "";
+  const hlsUrl = _videoNo != null ? toPath(API_PATHS?.VIDEOS?.HLS?.(_videoNo)) : "";
 
   if (loading) return <div className="p-6">로딩중…</div>;
   if (err || !clip) {
@@ -458,7 +464,9 @@ export default function SessionDetail() {
                   <FocusOnlySynced
                     visionChartData={visionChartData /* JSON/객체/배열 모두 OK */}
                     videoUrl={videoUrl}
+                    hlsUrl={hlsUrl}
                     poster={thumbUrl}
+                    previewTrackUrl={previewTrackUrl}
                     sttSegments={sttSegments}
                     sttTimeUnit="s"
                     debug
@@ -470,7 +478,9 @@ export default function SessionDetail() {
                 <EmotionOnlySynced
                   emotionChartData={emotionObj ?? emotions} // 객체 or 배열 둘 다 OK
                   videoUrl={videoUrl}
+                  hlsUrl={hlsUrl}
                   poster={thumbUrl}
+                  previewTrackUrl={previewTrackUrl}
                   sttSegments={sttSegments}
                   sttTimeUnit="s"
                 />
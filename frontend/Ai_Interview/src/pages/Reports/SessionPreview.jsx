@@ -14,10 +14,10 @@ function toPath(p) {
   return s.startsWith("/") ? s : `/${s}`;
 }
 
-/** Windows 로컬 경로 → 썸네일 서버 URL (네 환경에 맞게 호스트만 바꿔) */
-function buildThumbUrlFromLocalPath(localPath) {
-  if (!localPath) return "";
-  return `/thumbnail?path=${encodeURIComponent(localPath)}`;
+/** 영상 번호 → 썸네일 서버 URL (서버 파일 경로로는 요청하지 않음) */
+function buildThumbUrl(videoNo, w = 320) {
+  if (videoNo == null) return "";
+  return toPath(API_PATHS?.VIDEOS?.THUMBNAIL ? API_PATHS.VIDEOS.THUMBNAIL(videoNo, w) : `/thumbnail/${videoNo}?w=${w}`);
 }
 
 /** clip → 비디오 스트림 URL 생성 (API_PATHS가 제공되면 우선 사용) */
@@ -39,14 +39,15 @@ function getVideoUrlFromClip(c) {
   return toPath(c?.videoUrl || c?.videoDir || c?.path || "");
 }
 
-/** clip → 포스터(썸네일) URL (로컬 경로면 썸네일 서버로 변환) */
+/** clip → 포스터(썸네일) URL (로컬 경로는 사용하지 않음) */
 function getPosterFromClip(c) {
-  const raw =
-    c?.thumbnailUrl ?? c?.poster ?? c?.thumbnailDir ?? c?.thumb ?? "";
-  // 로컬/Windows 경로면 빈 스트링이 나오므로 서버 URL로 만들어준다
-  if (!raw || /[A-Za-z]:\\/.test(String(raw))) {
-    return buildThumbUrlFromLocalPath(c?.thumbnailDir ?? raw);
+  // videoNo가 있으면 목록 카드 크기에 맞춘 썸네일을 사용 (브라우저 캐시 가능)
+  const no = c?.videoNo ?? c?.videoNO ?? null;
+  if (no != null) {
+    return buildThumbUrl(no);
   }
+  const raw = c?.thumbnailUrl ?? c?.poster ?? c?.thumb ?? "";
+  // 로컬/Windows 경로면 toPath가 빈 스트링을 돌려준다
   return toPath(raw);
 }
 
@@ -156,7 +157,6 @@ export default function SessionPreview() {
   const nav = useNavigate();
 
   const [rawResponse, setRawResponse] = useState(null); // /user/profile/{sessionId}
-  const [rawProfile, setRawProfile] = useState(null);   // /user/profile
   const [clips, setClips] = useState([]);
   const [loading, setLoading] = useState(true);
   const [err, setErr] = useState("");
@@ -176,15 +176,11 @@ export default function SessionPreview() {
         setLoading(true);
         setErr("");
 
-        // 두 API 병렬 호출
-        const [sessionRes, profileRes] = await Promise.all([
-          api.get(`/user/profile/${encodeURIComponent(String(sessionId ?? ""))}`),
-          api.get(`/user/profile`),
-        ]);
+        // 제목/날짜를 포함한 면접 정보는 이 응답에 모두 있으므로 /user/profile 목록(첫 페이지만 옴)은 조회하지 않습니다.
+        const sessionRes = await api.get(`/user/profile/${encodeURIComponent(String(sessionId ?? ""))}`);
 
         if (!abort) {
           setRawResponse(sessionRes?.data ?? null);
-          setRawProfile(profileRes?.data ?? null);
         }
 
         const data = sessionRes?.data ?? {};
@@ -425,13 +421,17 @@ export default function SessionPreview() {
                         />
                       ) : (
                         <div className="w-full h-full flex items-center justify-center text-xs text-gray-400 bg-gray-50 rounded-lg overflow-hidden">
-                          {/* 최후의 보루: thumbnailDir을 서버로 변환 */}
-                          <img
-                            src={buildThumbUrlFromLocalPath(c.thumbnailDir ?? "")}
-                            alt="thumbnail"
-                            className="max-w-full max-h-full object-contain"
-                            loading="lazy"
-                          />
+                          {/* 최후의 보루: 영상 번호로 썸네일 요청 */}
+                          {c.videoNo != null ? (
+                            <img
+                              src={buildThumbUrl(c.videoNo)}
+                              alt="thumbnail"
+                              className="max-w-full max-h-full object-contain"
+                              loading="lazy"
+                            />
+                          ) : (
+                            "썸네일 없음"
+                          )}
                         </div>
                       )}
                     </div>
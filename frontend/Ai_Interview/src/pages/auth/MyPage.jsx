@@ -2,6 +2,7 @@ import React, { useEffect, useMemo, useState } from "react";
 import { useNavigate } from "react-router-dom";
 import Modal from "../../components/Modal";
 import api from "../../utils/axiosInstance";           // axios 인스턴스 (401 처리 포함)
+import { API_PATHS } from "../../utils/apiPaths";
 import { useAuthStore } from "../../stores/authStore";
 import { useLogout } from "../../hooks/useAuth";
 import DefaultAvatar from "../../components/DefaultAvatar";
@@ -43,6 +44,26 @@ function getProvisionalCountFor(interviewId) {
   return obj?.[interviewId]?.count ?? null;
 }
 
+/* ───── 면접 목록 항목 매핑 (/user/profile, /user/interviews 공통) ───── */
+function toInterviewRow(it) {
+  const startedAt = Date.parse(it.interview_date);
+  const rawStatus = it.analysis_status || "";
+  const provCount = getProvisionalCountFor(String(it.interview_no));
+  const questionCount = it.question_count ?? 0;
+  const finalCount = questionCount > 0 ? questionCount : (provCount ?? 0);
+
+  return {
+    id: String(it.interview_no),
+    title: it.interview_title,
+    count: finalCount,
+    date: formatKST(it.interview_date),
+    startedAt,
+    kind: it.interview_type,
+    statusText: rawStatus,
+    statusTone: rawStatus?.includes("중") ? "blue" : "green",
+  };
+}
+
 /* ───── 요약 파싱 & 최신 선택 헬퍼 ───── */
 /** 안전 JSON 파싱 */
 function safeParse(maybe) {
@@ -87,6 +108,10 @@ const MyPage = () => {
   const [interviews, setInterviews] = useState([]);
   const [loading, setLoading] = useState(false);
   const [err, setErr] = useState("");
+  // 다음 페이지 커서 (null이면 마지막 페이지)
+  const [nextCursor, setNextCursor] = useState(null);
+  const [loadingMore, setLoadingMore] = useState(false);
+  const [moreErr, setMoreErr] = useState("");
 
   // 수정 모달 상태
   const [isEditOpen, setIsEditOpen] = useState(false);
@@ -129,14 +154,13 @@ const MyPage = () => {
     console.log("[STATE] interviews:", JSON.stringify(interviews, null, 2));
   }, [interviews]);
 
-  // ✅ 백엔드 연동: /user/profile
-  // ✅ 백엔드 연동: /user/profile
+  // ✅ 백엔드 연동: /user/profile (면접 목록은 첫 페이지만 오고, 이후는 next_cursor로 /user/interviews 조회)
   useEffect(() => {
     const fetchProfile = async () => {
       setLoading(true);
       setErr("");
       try {
-        const { data } = await api.get("/user/profile");
+        const { data } = await api.get(API_PATHS.AUTH.PROFILE);
 
         // 루트의 요약 키만 확인 (백엔드 케이스 대비)
         const latestSummary = toReadableOverall(
@@ -151,26 +175,8 @@ const MyPage = () => {
           overallcompare: latestSummary || prev.overallcompare || "",
         }));
 
-        // 인터뷰 테이블 매핑은 그대로 유지
-        const mapped = (data?.interviews || []).map((it) => {
-          const startedAt = Date.parse(it.interview_date);
-          const rawStatus = it.analysis_status || "";
-          const provCount = getProvisionalCountFor(String(it.interview_no));
-          const questionCount = it.question_count ?? 0;
-          const finalCount = questionCount > 0 ? questionCount : (provCount ?? 0);
-
-          return {
-            id: String(it.interview_no),
-            title: it.interview_title,
-            count: finalCount,
-            date: formatKST(it.interview_date),
-            startedAt,
-            kind: it.interview_type,
-            statusText: rawStatus,
-            statusTone: rawStatus?.includes("중") ? "blue" : "green",
-          };
-        });
-        setInterviews(mapped);
+        setInterviews((data?.interviews || []).map(toInterviewRow));
+        setNextCursor(data?.next_cursor ?? null);
       } catch (e) {
         console.error(e);
         if (e?.response?.status !== 401) setErr("프로필 정보를 불러오지 못했습니다.");
@@ -181,6 +187,27 @@ const MyPage = () => {
 
     if (isAuth) fetchProfile();
   }, [isAuth]);
+
+  // 이전 면접 더 보기: 받은 목록 뒤에 이어 붙임 (이미 있는 면접은 건너뜀)
+  const loadMore = async () => {
+    if (!nextCursor || loadingMore) return;
+    setLoadingMore(true);
+    setMoreErr("");
+    try {
+      const { data } = await api.get(API_PATHS.USER.INTERVIEWS(nextCursor));
+      const rows = (data?.interviews || []).map(toInterviewRow);
+      setInterviews((prev) => {
+        const seen = new Set(prev.map((r) => r.id));
+        return [...prev, ...rows.filter((r) => !seen.has(r.id))];
+      });
+      setNextCursor(data?.next_cursor ?? null);
+    } catch (e) {
+      console.error(e);
+      if (e?.response?.status !== 401) setMoreErr("이전 면접을 불러오지 못했습니다.");
+    } finally {
+      setLoadingMore(false);
+    }
+  };
   // ✅ 프론트에서 1시간 초과시 "분석 완료"로 강제 표기 + 질문 0개는 숨김
   const filtered = useMemo(() => {
     const now = Date.now();
@@ -528,6 +555,21 @@ const MyPage = () => {
                   </section>
                 ))
               )}
+
+              {/* 이전 면접 더 보기 (탭과 무관하게 다음 페이지를 받아옴) */}
+              {!loading && !err && nextCursor && (
+                <div className="flex flex-col items-center gap-2">
+                  <button
+                    type="button"
+                    onClick={loadMore}
+                    disabled={loadingMore}
+                    className="px-4 py-2 rounded-lg border border-gray-200 bg-white text-sm text-gray-700 hover:bg-gray-50 shadow-sm disabled:opacity-60"
+                  >
+                    {loadingMore ? "불러오는 중…" : "이전 면접 더 보기"}
+                  </button>
+                  {moreErr && <p className="text-xs text-red-500">{moreErr}</p>}
+                </div>
+              )}
             </div>
           </section>
         </div>
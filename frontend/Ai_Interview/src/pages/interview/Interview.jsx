@@ -2,8 +2,10 @@
 import React, { useEffect, useRef, useState } from "react";
 import { useNavigate, useParams } from "react-router-dom";
 import axiosInstance from "../../utils/axiosInstance";
+import { API_PATHS } from "../../utils/apiPaths";
 import { formatSec } from "../../utils/helper";
 import Header from "../../components/Header";
+import { createLiveUpload } from "../../utils/liveUpload";
 import { useInterviewStore, STEPS } from "../../stores/interviewStore";
 
 /* ===== 버튼 유틸 ===== */
@@ -20,6 +22,8 @@ const btn = (variant = "default") => {
 
 /* ===== 상수 ===== */
 const MAX_SEC = 60; // 타이머 최대 60초
+const TIMESLICE_MS = 2000; // 녹화 중 업로드 조각 간격
+const FINISH_ATTEMPTS = 3; // 면접 종료 알림 재시도 횟수
 
 /* QuestionList → sessionStorage 포맷 매핑 (세션 복구용 보조 함수) */
 function mapFromSessionStorage() {
@@ -115,6 +119,7 @@ export default function Interview() {
   const mediaRef = useRef(null);
   const recorderRef = useRef(null);
   const skipSaveRef = useRef(false);
+  const liveRef = useRef(null); // 녹화 중 업로드 (Promise<live | null>)
 
   /* ===== 가드 ===== */
   // 선택 질문 없으면 질문 선택 화면으로
@@ -166,7 +171,19 @@ export default function Interview() {
     const chunks = [];
     const mime = pickBestMime();
     const recorder = new MediaRecorder(stream, { mimeType: mime });
-    recorder.ondataavailable = (e) => e.data.size && chunks.push(e.data);
+
+    // 녹화하는 동안 조각을 서버로 보내 변환을 미리 시작합니다. (실패하면 다음 버튼에서 전체 업로드)
+    const questionNoNum = Number.parseInt(String(q?.questionId ?? "").trim(), 10);
+    const livePromise = Number.isFinite(interviewNoNum) && Number.isFinite(questionNoNum)
+      ? createLiveUpload(interviewNoNum, questionNoNum).catch(() => null)
+      : Promise.resolve(null);
+    liveRef.current = livePromise;
+
+    recorder.ondataavailable = (e) => {
+      if (!e.data.size) return;
+      chunks.push(e.data);
+      livePromise.then((live) => live?.push(e.data));
+    };
     recorder.onstop = () => {
       if (!skipSaveRef.current) {
         setBlob(new Blob(chunks, { type: mime }));
@@ -174,7 +191,7 @@ export default function Interview() {
       skipSaveRef.current = false;
     };
     recorderRef.current = recorder;
-    recorder.start();
+    recorder.start(TIMESLICE_MS);
     setSec(0);
     setRec(true);
   }
@@ -191,6 +208,8 @@ export default function Interview() {
 
   // 재촬영
   function resetTake() {
+    liveRef.current?.then((live) => live?.cancel());
+    liveRef.current = null;
     if (recorderRef.current && rec) {
       skipSaveRef.current = true;
       try { recorderRef.current.stop(); } catch {}
@@ -208,6 +227,25 @@ export default function Interview() {
     setSec(0);
   }
 
+  // 면접 종료 알림. 서버 오류/네트워크 오류만 재시도하고, 4xx는 다시 보내도 같으므로 바로 실패로 처리
+  async function notifyFinish() {
+    for (let attempt = 1; attempt <= FINISH_ATTEMPTS; attempt++) {
+      try {
+        await axiosInstance.post(API_PATHS.INTERVIEWS.FINISH(encodeURIComponent(interviewNoNum)), {
+          answerCount: total,
+        });
+        return true;
+      } catch (e) {
+        const status = e?.response?.status;
+        if (status && status < 500) return false;
+        if (attempt < FINISH_ATTEMPTS) {
+          await new Promise((r) => setTimeout(r, 1000 * attempt));
+        }
+      }
+    }
+    return false;
+  }
+
   /* ===== 업로드 → 다음 문항(Optimistic) ===== */
   async function uploadAndNext() {
     if (!blob || !q) return;
@@ -226,13 +264,33 @@ export default function Interview() {
     const url = `/interviews/${encodeURIComponent(interviewNoNum)}/${encodeURIComponent(
       questionNoNum
     )}/video`;
-    const fd = new FormData();
-    fd.append("video", blob, "answer.webm");
+    const uploadWhole = () => {
+      const fd = new FormData();
+      fd.append("video", blob, "answer.webm");
+      return axiosInstance.post(url, fd, { timeout: 0 });
+    };
+    const livePromise = liveRef.current;
+    liveRef.current = null;
 
     try {
       setUploading(true);
       // 응답 대기 없이 업로드 시작 (실패해도 화면 전환은 진행)
-      axiosInstance.post(url, fd, { timeout: 0 }).catch(() => {});
+      if (livePromise) {
+        // 녹화 중 업로드를 완료하고, 실패했으면 녹화본 전체를 기존 방식으로 업로드
+        // (finish는 서버에 작업이 등록되지 않은 것을 확인한 뒤에만 실패하므로 답변이 두 번 등록되지 않음)
+        livePromise
+          .then((live) => {
+            if (!live) throw new Error("live upload unavailable");
+            return live.finish().catch((e) => {
+              live.cancel();
+              throw e;
+            });
+          })
+          .catch(() => uploadWhole())
+          .catch(() => {});
+      } else {
+        uploadWhole().catch(() => {});
+      }
     } catch {
       alert("영상 업로드에 실패했습니다. 네트워크를 확인하고 다시 시도해 주세요.");
     } finally {
@@ -246,6 +304,14 @@ export default function Interview() {
       setSec(0);
       setIdx(next);
     } else {
+      // 면접 종료 알림: 서버는 답변 수(total)만큼 분석이 끝나면 종합 총평을 한 번 생성
+      // 알림이 빠지면 총평이 만들어지지 않으므로 재시도하고, 끝내 실패하면 알립니다.
+      setUploading(true);
+      const finished = await notifyFinish();
+      setUploading(false);
+      if (!finished) {
+        alert("면접 종료 처리에 실패했습니다. 답변 분석은 계속되지만 종합 총평이 만들어지지 않을 수 있습니다.");
+      }
       try {
         const key = "aiInterview.processing";
         const payload = { interviewNo: interviewNoNum, status: "processing", startedAt: Date.now() };
@@ -36,6 +36,14 @@ export const API_PATHS = {
     CALIBRATION: (interviewNo) => `/interviews/${interviewNo}/calibration`,
     UPLOAD_VIDEO: (interviewNo, questionNo) =>
       `/interviews/${interviewNo}/${questionNo}/video`,
+    FINISH: (interviewNo) => `/interviews/${interviewNo}/finish`,
+  },
+
+  UPLOADS: {
+    INIT: "/uploads",
+    CHUNK: (uploadId, offset) => `/uploads/${uploadId}?offset=${offset}`,
+    STATUS: (uploadId) => `/uploads/${uploadId}`,
+    COMPLETE: (uploadId) => `/uploads/${uploadId}/complete`,
   },
 
   RESUMES: {
@@ -53,6 +61,9 @@ export const API_PATHS = {
   },
 
   USER: {
+    // 면접 이력 다음 페이지 (cursor: /user/profile 또는 이전 페이지의 next_cursor)
+    INTERVIEWS: (cursor, size = 20) =>
+      `/user/interviews?cursorDate=${encodeURIComponent(cursor.interview_date)}&cursorNo=${cursor.interview_no}&size=${size}`,
     PROFILE_LIST: (interviewNo) => `/user/profile/${interviewNo}`,
     PROFILE_DETAIL: (interviewNo, videoNo) =>
       `/user/profile/${interviewNo}/${videoNo}`,
@@ -60,5 +71,11 @@ export const API_PATHS = {
 
   VIDEOS: {
     STREAM: (videoNo) => `/videos/stream/${videoNo}`,
+    // 크기별 썸네일 (w: 160, 320, 640)
+    THUMBNAIL: (videoNo, w = 320) => `/thumbnail/${videoNo}?w=${w}`,
+    // 탐색 미리보기 (WebVTT + 스프라이트 시트)
+    PREVIEW_VTT: (videoNo) => `/videos/${videoNo}/preview.vtt`,
+    // 화질별 HLS (패키징된 영상만, 없으면 STREAM의 MP4로 재생)
+    HLS: (videoNo) => `/videos/${videoNo}/hls/master.m3u8`,
   },
 };
@@ -40,11 +40,14 @@ api.interceptors.request.use((config) => {
   // 2) Request-Id (요청 추적용)
   config.headers["X-Request-Id"] = crypto?.randomUUID?.() ? crypto.randomUUID() : `${Date.now()}-${Math.random()}`;
 
-  // 3) Content-Type 처리 (FormData면 삭제해서 boundary 자동설정)
+  // 3) Content-Type 처리 (FormData면 삭제해서 boundary 자동설정, Blob 조각은 바이너리로 전송)
   const isFormData = typeof FormData !== "undefined" && config.data instanceof FormData;
+  const isBlob = typeof Blob !== "undefined" && config.data instanceof Blob;
   if (isFormData) {
     delete config.headers["Content-Type"];
     delete config.headers["content-type"];
+  } else if (isBlob) {
+    config.headers["Content-Type"] = "application/octet-stream";
   } else {
     const m = (config.method || "").toLowerCase();
     if (["post", "put", "patch"].includes(m)) {
@@ -59,7 +62,7 @@ api.interceptors.request.use((config) => {
       "color:#2563eb;font-weight:bold"
     );
     console.log("headers:", maskHeaders(config.headers));
-    if (!isFormData) console.log("data:", config.data);
+    if (!isFormData && !isBlob) console.log("data:", config.data);
     if (config.params) console.log("params:", config.params);
     console.groupEnd();
     // 요청 시간 기록
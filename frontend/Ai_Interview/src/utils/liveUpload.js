@@ -0,0 +1,79 @@
+// src/utils/liveUpload.js
+import axiosInstance from "./axiosInstance";
+import { API_PATHS } from "./apiPaths";
+
+// 완료 요청 실패 후 서버 상태를 확인하는 간격/횟수 (서버는 녹화 중 변환을 최대 60초 기다림)
+const SETTLE_INTERVAL_MS = 2000;
+const SETTLE_ATTEMPTS = 45;
+
+/**
+ * 녹화 중 업로드: MediaRecorder 조각이 생길 때마다 서버로 보내서
+ * 답변을 마칠 때쯤 서버의 변환이 거의 끝나 있도록 합니다.
+ * 조각 전송이 한 번이라도 실패하면 failed가 되며, 호출 측은 녹화본 전체를 기존 방식으로 올리면 됩니다.
+ */
+export async function createLiveUpload(interviewNo, questionNo) {
+  const res = await axiosInstance.post(API_PATHS.UPLOADS.INIT, {
+    kind: "ANSWER",
+    interviewNo,
+    questionNo,
+    streaming: true,
+    fileName: "answer.webm",
+  });
+  const uploadId = res.data?.uploadId;
+  if (!uploadId) throw new Error("업로드를 시작하지 못했습니다.");
+
+  let offset = 0;
+  let failed = false;
+  let chain = Promise.resolve(); // 조각은 offset 순서대로 하나씩 보냄
+
+  const push = (blob) => {
+    if (!blob || !blob.size || failed) return;
+    chain = chain.then(async () => {
+      if (failed) return;
+      try {
+        const r = await axiosInstance.put(API_PATHS.UPLOADS.CHUNK(uploadId, offset), blob, { timeout: 0 });
+        offset = r.data?.offset ?? offset + blob.size;
+      } catch {
+        failed = true;
+      }
+    });
+  };
+
+  // 완료 요청이 실패해도 서버가 이미 작업을 등록했을 수 있습니다. (응답 유실, 처리 중이라 409 등)
+  // 상태를 확인해 등록됐으면 그 정보를, 등록 전으로 돌아갔으면 null을 반환합니다.
+  const settle = async () => {
+    for (let attempt = 0; attempt < SETTLE_ATTEMPTS; attempt++) {
+      try {
+        const { data } = await axiosInstance.get(API_PATHS.UPLOADS.STATUS(uploadId));
+        if (data?.status === "COMPLETED") return data;
+        if (data?.status !== "PROCESSING") return null;
+      } catch (e) {
+        if (e?.response?.status === 404) return null;
+      }
+      await new Promise((r) => setTimeout(r, SETTLE_INTERVAL_MS));
+    }
+    return null;
+  };
+
+  // 남은 조각 전송이 끝나면 업로드를 완료합니다.
+  // 서버에 작업이 등록되지 않은 것이 확인된 경우에만 예외를 던지므로, 호출 측은 그때만 전체 업로드로 대체하면 됩니다.
+  const finish = async () => {
+    await chain;
+    if (failed) throw new Error("조각 업로드에 실패했습니다.");
+    try {
+      const r = await axiosInstance.post(API_PATHS.UPLOADS.COMPLETE(uploadId), null, { timeout: 0 });
+      return r.data;
+    } catch (e) {
+      const settled = await settle();
+      if (settled) return settled;
+      throw e;
+    }
+  };
+
+  const cancel = () => {
+    failed = true;
+    chain.then(() => axiosInstance.delete(API_PATHS.UPLOADS.STATUS(uploadId))).catch(() => {});
+  };
+
+  return { uploadId, push, finish, cancel, isFailed: () => failed };
+}
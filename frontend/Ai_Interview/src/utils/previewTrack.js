@@ -0,0 +1,66 @@
+// src/utils/previewTrack.js
+
+/**
+ * 탐색 미리보기(WebVTT 썸네일 목록)를 불러옵니다.
+ * 각 구간은 스프라이트 시트의 한 칸(#xywh=x,y,w,h)을 가리키므로,
+ * 스크럽하는 동안 영상을 여러 번 Range 요청하지 않고 시트 한 장으로 미리보기를 보여줄 수 있습니다.
+ * 같은 URL은 한 번만 요청하며, 미리보기가 없는 영상(404 등)은 빈 배열을 돌려줍니다.
+ */
+const cache = new Map();
+
+export function loadPreviewTrack(vttUrl) {
+  if (!vttUrl) return Promise.resolve([]);
+  if (!cache.has(vttUrl)) {
+    const p = fetch(vttUrl)
+      .then((res) => (res.ok ? res.text() : ""))
+      .then((text) => parseThumbnailVtt(text, vttUrl))
+      .catch(() => []);
+    cache.set(vttUrl, p);
+  }
+  return cache.get(vttUrl);
+}
+
+/** "HH:MM:SS.mmm" 또는 "MM:SS.mmm" → 초 */
+function toSeconds(ts) {
+  const parts = ts.trim().split(":").map(Number);
+  return parts.reduce((acc, v) => acc * 60 + v, 0);
+}
+
+/** WebVTT 본문 → [{ start, end, url, x, y, w, h }] (url은 VTT 위치 기준으로 해석) */
+export function parseThumbnailVtt(text, baseUrl) {
+  if (!text || !text.startsWith("WEBVTT")) return [];
+  const base = new URL(baseUrl, window.location.href);
+  const cues = [];
+  for (const block of text.split(/\r?\n\r?\n/)) {
+    const lines = block.split(/\r?\n/).filter(Boolean);
+    const timeIdx = lines.findIndex((l) => l.includes("-->"));
+    if (timeIdx < 0 || !lines[timeIdx + 1]) continue;
+    const [from, to] = lines[timeIdx].split("-->");
+    const [path, hash = ""] = lines[timeIdx + 1].split("#");
+    const m = /xywh=(\d+),(\d+),(\d+),(\d+)/.exec(hash);
+    if (!m) continue;
+    cues.push({
+      start: toSeconds(from),
+      end: toSeconds(to),
+      url: new URL(path, base).toString(),
+      x: Number(m[1]),
+      y: Number(m[2]),
+      w: Number(m[3]),
+      h: Number(m[4]),
+    });
+  }
+  return cues;
+}
+
+/** 시각 t(초)에 해당하는 구간 (정렬된 목록에서 이진 탐색) */
+export function findPreviewCue(cues, t) {
+  if (!cues?.length) return null;
+  let lo = 0;
+  let hi = cues.length - 1;
+  while (lo < hi) {
+    const mid = (lo + hi + 1) >> 1;
+    if (cues[mid].start <= t) lo = mid;
+    else hi = mid - 1;
+  }
+  return cues[lo];
+}